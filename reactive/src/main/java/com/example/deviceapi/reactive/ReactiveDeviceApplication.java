@@ -0,0 +1,13 @@
+package com.example.deviceapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveDeviceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveDeviceApplication.class, args);
+    }
+
+}
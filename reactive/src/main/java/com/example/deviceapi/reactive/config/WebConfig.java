@@ -0,0 +1,15 @@
+package com.example.deviceapi.reactive.config;
+
+import com.example.deviceapi.entity.DeviceState;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, DeviceState.class, DeviceState::fromString);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.deviceapi.reactive.controller;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.reactive.mapper.DeviceMapper;
+import com.example.deviceapi.reactive.service.DeviceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the servlet {@code DeviceController}: same paths, bodies, status
+ * codes and ETags for the single-device operations. Lists are streamed in id order as they are
+ * read from the database, as a JSON array or, with {@code Accept: application/x-ndjson}, one
+ * device per line.
+ */
+@RestController
+@RequestMapping("/api/devices")
+@RequiredArgsConstructor
+public class DeviceController {
+
+    private final DeviceService deviceService;
+    private final DeviceMapper deviceMapper;
+
+    @PostMapping
+    public Mono<ResponseEntity<DeviceResponse>> createDevice(@Valid @RequestBody DeviceCreateDto createDto) {
+        return deviceService.createDevice(createDto)
+                .map(device -> new ResponseEntity<>(deviceMapper.toResponse(device), HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<DeviceResponse>> getDevice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return deviceService.getDeviceById(id).map(device -> {
+            String etag = DeviceETags.forVersion(device.getVersion());
+            if (DeviceETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(deviceMapper.toResponse(device));
+        });
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<DeviceResponse> getDevices(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) List<DeviceState> state) {
+        return deviceService.getDevices(brand, state).map(deviceMapper::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<DeviceResponse>> updateDevice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody DeviceUpdateDto updateDto) {
+        return update(id, ifMatch, updateDto);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<DeviceResponse>> partialUpdateDevice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody DeviceUpdateDto updateDto) {
+        return update(id, ifMatch, updateDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteDevice(@PathVariable Long id) {
+        return deviceService.deleteDevice(id).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    private Mono<ResponseEntity<DeviceResponse>> update(Long id, String ifMatch, DeviceUpdateDto updateDto) {
+        return deviceService.updateDevice(id, updateDto, DeviceETags.parseIfMatch(ifMatch))
+                .map(device -> ResponseEntity.ok()
+                        .eTag(DeviceETags.forVersion(device.getVersion()))
+                        .body(deviceMapper.toResponse(device)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.deviceapi.reactive.controller;
+
+/**
+ * Weak entity tags derived from {@code Device.version}, as sent by the servlet application:
+ * version 3 is sent as {@code W/"3"}.
+ */
+final class DeviceETags {
+
+    private DeviceETags() {
+    }
+
+    static String forVersion(Long version) {
+        return "W/\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Returns whether an {@code If-None-Match} header matches the current tag, using the weak
+     * comparison RFC 9110 prescribes for conditional GETs.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Extracts the expected version from an {@code If-Match} header. Returns {@code null} when
+     * the header is absent or {@code *}, i.e. when the client did not ask for a precondition.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.deviceapi.reactive.entity;
+
+import com.example.deviceapi.entity.DeviceState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code device} table written by the servlet application. Ids come from
+ * the shared {@code device_seq} sequence, so both variants can run against the same database.
+ */
+@Table("device")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Device {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private DeviceState state;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime creationTime;
+
+    private LocalDateTime updateTime;
+
+}
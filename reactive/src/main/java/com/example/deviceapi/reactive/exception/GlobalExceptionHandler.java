@@ -0,0 +1,88 @@
+package com.example.deviceapi.reactive.exception;
+
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
+import com.example.deviceapi.exception.ErrorResponse;
+import com.example.deviceapi.exception.ValidationErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps errors to the same status codes and bodies as the servlet application.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class GlobalExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler(DeviceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleDeviceNotFoundException(DeviceNotFoundException ex) {
+        return error(ex, HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(DeviceValidationException.class)
+    public ResponseEntity<ErrorResponse> handleDeviceValidationException(DeviceValidationException ex) {
+        return error(ex, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(DeviceVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleDeviceVersionConflictException(DeviceVersionConflictException ex) {
+        HttpStatus status = ex.getExpectedVersion() != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return error(ex, status, ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ValidationErrorResponse> handleValidationException(WebExchangeBindException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation failed",
+                LocalDateTime.now(),
+                errors
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        // Unconvertible parameters, e.g. an unknown state; WebFlux wraps the converter's exception
+        Throwable cause = ex.getMostSpecificCause();
+        return error(ex, HttpStatus.BAD_REQUEST, cause != null ? cause.getMessage() : ex.getReason());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return error(ex, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> error(Exception ex, HttpStatus status, String message) {
+        count(ex, status);
+        return new ResponseEntity<>(new ErrorResponse(status.value(), message, LocalDateTime.now()), status);
+    }
+
+    private void count(Exception ex, HttpStatus status) {
+        meterRegistry.counter("device.api.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+}
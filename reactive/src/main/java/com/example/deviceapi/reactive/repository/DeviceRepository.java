@@ -0,0 +1,56 @@
+package com.example.deviceapi.reactive.repository;
+
+import com.example.deviceapi.reactive.entity.Device;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface DeviceRepository extends ReactiveCrudRepository<Device, Long> {
+
+    Flux<Device> findAllByOrderById();
+
+    @Query("SELECT * FROM device WHERE LOWER(brand) = LOWER(:brand) AND state IN (:states) ORDER BY id")
+    Flux<Device> findByBrandAndStates(String brand, Collection<String> states);
+
+    @Query("SELECT * FROM device WHERE LOWER(brand) = LOWER(:brand) ORDER BY id")
+    Flux<Device> findByBrand(String brand);
+
+    @Query("SELECT * FROM device WHERE state IN (:states) ORDER BY id")
+    Flux<Device> findByStates(Collection<String> states);
+
+    /**
+     * Draws the next value of the sequence the servlet application allocates ids from. Hibernate
+     * reserves the block ending at each value it draws, so a value drawn here is never handed out
+     * there.
+     */
+    @Query("SELECT NEXTVAL('device_seq')")
+    Mono<Long> nextId();
+
+    /**
+     * Applies a full update only if the row still has {@code version} and is not in use.
+     * Emits the number of affected rows, i.e. 0 when the row is missing, in use or stale.
+     */
+    @Modifying
+    @Query("""
+            UPDATE device
+               SET name = :name, brand = :brand, state = :state,
+                   version = version + 1, update_time = :updateTime
+             WHERE id = :id
+               AND version = :version
+               AND state <> 'IN_USE'
+            """)
+    Mono<Integer> updateIfUnchanged(Long id, Long version, String name, String brand, String state,
+                                    LocalDateTime updateTime);
+
+    /**
+     * Deletes the device unless it is in use. Emits the number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM device WHERE id = :id AND state <> 'IN_USE'")
+    Mono<Integer> deleteIfNotInUse(Long id);
+}
@@ -0,0 +1,31 @@
+package com.example.deviceapi.reactive.service;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.reactive.entity.Device;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface DeviceService {
+
+    Mono<Device> createDevice(DeviceCreateDto createDto);
+
+    /**
+     * Applies the non-null fields of {@code updateDto}. Devices in use cannot be changed; when
+     * {@code expectedVersion} is set the update fails unless the device is still at that version.
+     */
+    Mono<Device> updateDevice(Long id, DeviceUpdateDto updateDto, Long expectedVersion);
+
+    Mono<Device> getDeviceById(Long id);
+
+    /**
+     * Streams the devices of {@code brand} (case-insensitive) in any of {@code states}, in id
+     * order; {@code null} or empty arguments do not filter.
+     */
+    Flux<Device> getDevices(String brand, List<DeviceState> states);
+
+    Mono<Void> deleteDevice(Long id);
+}
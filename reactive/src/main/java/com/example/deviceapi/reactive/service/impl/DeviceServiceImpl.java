@@ -0,0 +1,125 @@
+package com.example.deviceapi.reactive.service.impl;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
+import com.example.deviceapi.reactive.entity.Device;
+import com.example.deviceapi.reactive.mapper.DeviceMapper;
+import com.example.deviceapi.reactive.repository.DeviceRepository;
+import com.example.deviceapi.reactive.service.DeviceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class DeviceServiceImpl implements DeviceService {
+
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    private final DeviceRepository deviceRepository;
+    private final DeviceMapper deviceMapper;
+
+    @Override
+    public Mono<Device> createDevice(DeviceCreateDto createDto) {
+        return deviceRepository.nextId().flatMap(id -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Device device = deviceMapper.createDtoToDevice(createDto);
+            device.setId(id);
+            device.setCreationTime(now);
+            device.setUpdateTime(now);
+            return deviceRepository.save(device);
+        });
+    }
+
+    @Override
+    public Mono<Device> updateDevice(Long id, DeviceUpdateDto updateDto, Long expectedVersion) {
+        Mono<Device> attempt = Mono.defer(() -> findDevice(id)).flatMap(current -> {
+            if (current.getState() == DeviceState.IN_USE) {
+                return Mono.error(deviceInUse());
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return Mono.error(new DeviceVersionConflictException(id, expectedVersion, current.getVersion()));
+            }
+            return conditionalUpdate(current, updateDto);
+        });
+
+        // An empty attempt lost a race with a concurrent write; only retry when no version was asked for
+        int attempts = expectedVersion != null ? 1 : MAX_UPDATE_ATTEMPTS;
+        return Flux.range(0, attempts)
+                .concatMap(i -> attempt)
+                .next()
+                .switchIfEmpty(Mono.defer(() -> updateFailure(id, expectedVersion)));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Mono<Device> getDeviceById(Long id) {
+        return findDevice(id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Flux<Device> getDevices(String brand, List<DeviceState> states) {
+        boolean byBrand = brand != null && !brand.isBlank();
+        boolean byState = states != null && !states.isEmpty();
+        List<String> stateNames = byState ? states.stream().map(DeviceState::name).toList() : List.of();
+
+        if (byBrand && byState) {
+            return deviceRepository.findByBrandAndStates(brand, stateNames);
+        }
+        if (byBrand) {
+            return deviceRepository.findByBrand(brand);
+        }
+        if (byState) {
+            return deviceRepository.findByStates(stateNames);
+        }
+        return deviceRepository.findAllByOrderById();
+    }
+
+    @Override
+    public Mono<Void> deleteDevice(Long id) {
+        return deviceRepository.deleteIfNotInUse(id)
+                .flatMap(rows -> rows > 0
+                        ? Mono.<Void>empty()
+                        : findDevice(id).then(Mono.error(
+                                new DeviceValidationException("Cannot delete a device that is in use"))));
+    }
+
+    private Mono<Device> conditionalUpdate(Device current, DeviceUpdateDto updateDto) {
+        Device updated = current.toBuilder().build();
+        deviceMapper.updateDeviceFromDTO(updateDto, updated);
+        updated.setVersion(current.getVersion() + 1);
+        updated.setUpdateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        return deviceRepository.updateIfUnchanged(current.getId(), current.getVersion(), updated.getName(),
+                        updated.getBrand(), updated.getState().name(), updated.getUpdateTime())
+                .filter(rows -> rows > 0)
+                .map(rows -> updated);
+    }
+
+    private Mono<Device> updateFailure(Long id, Long expectedVersion) {
+        return findDevice(id).flatMap(current -> Mono.error(current.getState() == DeviceState.IN_USE
+                ? deviceInUse()
+                : new DeviceVersionConflictException(id, expectedVersion, current.getVersion())));
+    }
+
+    private static DeviceValidationException deviceInUse() {
+        return new DeviceValidationException("Cannot update name or brand of a device that is in use");
+    }
+
+    private Mono<Device> findDevice(Long id) {
+        return deviceRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new DeviceNotFoundException(id)));
+    }
+}
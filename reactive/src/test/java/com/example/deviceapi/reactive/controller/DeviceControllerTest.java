@@ -0,0 +1,170 @@
+package com.example.deviceapi.reactive.controller;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.DeviceState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the whole reactive stack against an in-memory R2DBC H2 database.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class DeviceControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM device").then().block();
+    }
+
+    @Test
+    void createDevice_ShouldAllocateIdFromSequenceAndStartAvailable() {
+        DeviceResponse created = create("iPhone 16", "Apple");
+
+        assertNotNull(created.getId());
+        assertEquals(DeviceState.AVAILABLE, created.getState());
+        assertEquals(0L, created.getVersion());
+        assertNotNull(created.getCreationTime());
+        assertNotEquals(created.getId(), create("Pixel 9", "Google").getId());
+    }
+
+    @Test
+    void createDevice_WithBlankName_ShouldReturnFieldErrors() {
+        webTestClient.post().uri("/api/devices")
+                .bodyValue(new DeviceCreateDto(" ", "Apple"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors.name").isEqualTo("Name is required");
+    }
+
+    @Test
+    void getDevices_ShouldStreamFilteredDevicesAsJsonArrayOrNdjson() {
+        Long iphone = create("iPhone 16", "Apple").getId();
+        Long ipad = create("iPad Air", "Apple").getId();
+        create("Pixel 9", "Google");
+        update(ipad, new DeviceUpdateDto(null, null, DeviceState.INACTIVE), null);
+
+        List<DeviceResponse> apple = webTestClient.get().uri("/api/devices?brand=APPLE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeviceResponse.class).returnResult().getResponseBody();
+        assertEquals(List.of(iphone, ipad), apple.stream().map(DeviceResponse::getId).toList());
+
+        List<DeviceResponse> available = webTestClient.get().uri("/api/devices?brand=apple&state=available")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(DeviceResponse.class).getResponseBody().collectList().block();
+        assertEquals(List.of(iphone), available.stream().map(DeviceResponse::getId).toList());
+    }
+
+    @Test
+    void getDevices_WithUnknownState_ShouldReturnBadRequest() {
+        webTestClient.get().uri("/api/devices?state=broken")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getDevice_ShouldHonourIfNoneMatchAndReturnNotFoundForMissingDevice() {
+        Long id = create("iPhone 16", "Apple").getId();
+
+        webTestClient.get().uri("/api/devices/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/devices/{id}", id + 1000)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateDevice_ShouldBumpVersionAndRejectStaleIfMatch() {
+        Long id = create("iPhone 16", "Apple").getId();
+
+        webTestClient.patch().uri("/api/devices/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new DeviceUpdateDto("iPhone 16e", null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"1\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("iPhone 16e")
+                .jsonPath("$.brand").isEqualTo("Apple");
+
+        webTestClient.put().uri("/api/devices/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new DeviceUpdateDto("iPhone 17", "Apple", DeviceState.AVAILABLE))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void devicesInUse_ShouldRejectUpdatesAndDeletes() {
+        Long id = create("iPhone 16", "Apple").getId();
+        update(id, new DeviceUpdateDto(null, null, DeviceState.IN_USE), null);
+
+        webTestClient.patch().uri("/api/devices/{id}", id)
+                .bodyValue(new DeviceUpdateDto("iPhone 16e", null, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.delete().uri("/api/devices/{id}", id)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cannot delete a device that is in use");
+    }
+
+    @Test
+    void deleteDevice_ShouldRemoveDevice() {
+        Long id = create("iPhone 16", "Apple").getId();
+
+        webTestClient.delete().uri("/api/devices/{id}", id)
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/devices/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private DeviceResponse create(String name, String brand) {
+        return webTestClient.post().uri("/api/devices")
+                .bodyValue(new DeviceCreateDto(name, brand))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeviceResponse.class).returnResult().getResponseBody();
+    }
+
+    private void update(Long id, DeviceUpdateDto updateDto, String ifMatch) {
+        webTestClient.patch().uri("/api/devices/{id}", id)
+                .headers(headers -> {
+                    if (ifMatch != null) {
+                        headers.setIfMatch(ifMatch);
+                    }
+                })
+                .bodyValue(updateDto)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.deviceapi.reactive.service.impl;
+
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
+import com.example.deviceapi.reactive.entity.Device;
+import com.example.deviceapi.reactive.mapper.DeviceMapper;
+import com.example.deviceapi.reactive.mapper.DeviceMapperImpl;
+import com.example.deviceapi.reactive.repository.DeviceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceServiceTest {
+
+    @InjectMocks
+    private DeviceServiceImpl deviceService;
+
+    @Mock
+    private DeviceRepository deviceRepository;
+
+    @Spy
+    private DeviceMapper deviceMapper = new DeviceMapperImpl();
+
+    private Device testDevice;
+
+    @BeforeEach
+    void setUp() {
+        testDevice = Device.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .state(DeviceState.AVAILABLE)
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    void updateDevice_WhenConcurrentWriteWins_ShouldRetryAgainstFreshRow() {
+        Device fresh = testDevice.toBuilder().version(1L).build();
+        when(deviceRepository.findById(1L)).thenReturn(Mono.just(testDevice), Mono.just(fresh));
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(0L), any(), any(), any(), any())).thenReturn(Mono.just(0));
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(1L), any(), any(), any(), any())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(deviceService.updateDevice(1L, new DeviceUpdateDto("iPhone 16e", null, null), null))
+                .expectNextMatches(device -> device.getVersion() == 2L && device.getName().equals("iPhone 16e"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateDevice_WithExpectedVersion_ShouldNotRetryLostRace() {
+        when(deviceRepository.findById(1L)).thenReturn(Mono.just(testDevice),
+                Mono.just(testDevice.toBuilder().version(1L).build()));
+        when(deviceRepository.updateIfUnchanged(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(Mono.just(0));
+
+        StepVerifier.create(deviceService.updateDevice(1L, new DeviceUpdateDto("iPhone 16e", null, null), 0L))
+                .expectError(DeviceVersionConflictException.class)
+                .verify();
+        verify(deviceRepository, times(1)).updateIfUnchanged(anyLong(), anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateDevice_WhenDeviceTakenInUseMeanwhile_ShouldReject() {
+        when(deviceRepository.findById(1L)).thenReturn(Mono.just(testDevice),
+                Mono.just(testDevice.toBuilder().state(DeviceState.IN_USE).version(1L).build()));
+        when(deviceRepository.updateIfUnchanged(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(Mono.just(0));
+
+        StepVerifier.create(deviceService.updateDevice(1L, new DeviceUpdateDto("iPhone 16e", null, null), null))
+                .expectError(DeviceValidationException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,12 @@
+-- Same layout as the table Hibernate generates for the servlet application
+CREATE SEQUENCE IF NOT EXISTS device_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS device (
+    id            BIGINT PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    brand         VARCHAR(255) NOT NULL,
+    state         VARCHAR(255) NOT NULL,
+    version       BIGINT,
+    creation_time TIMESTAMP(6),
+    update_time   TIMESTAMP(6)
+);
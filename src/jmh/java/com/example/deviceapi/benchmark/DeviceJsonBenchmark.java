@@ -0,0 +1,79 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.mapper.DeviceMapper;
+import com.example.deviceapi.mapper.DeviceMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of single devices and list pages with an {@link ObjectMapper}
+ * configured the way Spring Boot configures the one used by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeviceJsonBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private DeviceResponse device;
+    private List<DeviceResponse> devices;
+    private DevicePage<DeviceResponse> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        DeviceMapper mapper = new DeviceMapperImpl();
+        devices = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            devices.add(mapper.toResponse(Device.builder()
+                    .id(id)
+                    .name("Device " + id)
+                    .brand(id % 2 == 0 ? "Apple" : "Samsung")
+                    .state(DeviceState.values()[(int) (id % DeviceState.values().length)])
+                    .version(id % 7)
+                    .creationTime(now.plusSeconds(id))
+                    .updateTime(now.plusSeconds(id * 2))
+                    .build()));
+        }
+        device = devices.get(0);
+        page = new DevicePage<>(devices, "aWR8NTA");
+    }
+
+    @Benchmark
+    public byte[] singleDevice() throws JsonProcessingException {
+        return writer.writeValueAsBytes(device);
+    }
+
+    @Benchmark
+    public byte[] deviceList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public byte[] devicePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
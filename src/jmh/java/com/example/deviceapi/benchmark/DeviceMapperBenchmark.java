@@ -0,0 +1,58 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceUpdateDto;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.mapper.DeviceMapper;
+import com.example.deviceapi.mapper.DeviceMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct-generated mapper used on every create and update request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeviceMapperBenchmark {
+
+    private final DeviceMapper mapper = new DeviceMapperImpl();
+
+    private DeviceCreateDto createDto;
+    private DeviceUpdateDto fullUpdate;
+    private DeviceUpdateDto partialUpdate;
+    private Device device;
+
+    @Setup
+    public void setUp() {
+        createDto = new DeviceCreateDto("iPhone 15", "Apple");
+        fullUpdate = new DeviceUpdateDto("iPhone 15 Pro", "Apple", DeviceState.INACTIVE);
+        partialUpdate = new DeviceUpdateDto("iPhone 15 Pro", null, null);
+        device = Device.builder().id(1L).name("iPhone 15").brand("Apple").state(DeviceState.AVAILABLE).version(0L).build();
+    }
+
+    @Benchmark
+    public Device createDtoToDevice() {
+        return mapper.createDtoToDevice(createDto);
+    }
+
+    @Benchmark
+    public Device updateAllFields() {
+        mapper.updateDeviceFromDTO(fullUpdate, device);
+        return device;
+    }
+
+    @Benchmark
+    public Device updateSingleField() {
+        mapper.updateDeviceFromDTO(partialUpdate, device);
+        return device;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.cache.DeviceCache;
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.exception.ErrorResponse;
+import com.example.deviceapi.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a 404 for an unknown id, from lookup to serialized error body, thrown {@code stackDepth}
+ * frames below the handler as under the servlet and Spring MVC call stack. {@code before} looks the
+ * id up in an embedded H2 table and throws an exception that captures its stack trace;
+ * {@code stackless} only drops the stack trace; {@code after} answers from the negative cache.
+ * The in-process H2 query is a lower bound for a PostgreSQL round trip, which adds pool and
+ * network time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeviceNotFoundBenchmark {
+
+    private static final long DEVICES = 10_000;
+    private static final Long MISSING_ID = DEVICES + 42;
+
+    @Param({"20", "150"})
+    public int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    private ObjectWriter writer;
+    private DeviceCache deviceCache;
+    private Connection connection;
+    private PreparedStatement findById;
+
+    @Setup
+    public void setUp() throws SQLException {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        deviceCache = new DeviceCache(new DeviceProperties(), new SimpleMeterRegistry());
+        deviceCache.putMissing(MISSING_ID, deviceCache.creationMark());
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:notfound", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE device (id BIGINT PRIMARY KEY, name VARCHAR(255), brand VARCHAR(255), "
+                    + "state VARCHAR(20), version BIGINT)");
+            statement.execute("INSERT INTO device SELECT x, 'Device ' || x, 'Acme', 'AVAILABLE', 0 "
+                    + "FROM SYSTEM_RANGE(1, " + DEVICES + ")");
+        }
+        findById = connection.prepareStatement("SELECT id, name, brand, state, version FROM device WHERE id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public byte[] before() throws JsonProcessingException {
+        try {
+            descend(stackDepth, () -> {
+                queryDatabase();
+                throw new StackTraceNotFoundException("Device not found with id: " + MISSING_ID);
+            });
+            throw new IllegalStateException("Device exists");
+        } catch (StackTraceNotFoundException ex) {
+            return render(new DeviceNotFoundException(ex.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] stackless() throws JsonProcessingException {
+        try {
+            descend(stackDepth, () -> {
+                queryDatabase();
+                throw new DeviceNotFoundException(MISSING_ID);
+            });
+            throw new IllegalStateException("Device exists");
+        } catch (DeviceNotFoundException ex) {
+            return render(ex);
+        }
+    }
+
+    @Benchmark
+    public byte[] after() throws JsonProcessingException {
+        try {
+            descend(stackDepth, () -> {
+                if (deviceCache.isKnownMissing(MISSING_ID)) {
+                    throw new DeviceNotFoundException(MISSING_ID);
+                }
+            });
+            throw new IllegalStateException("Device not cached as missing");
+        } catch (DeviceNotFoundException ex) {
+            return render(ex);
+        }
+    }
+
+    private void queryDatabase() {
+        try {
+            findById.setLong(1, MISSING_ID);
+            try (ResultSet rows = findById.executeQuery()) {
+                if (rows.next()) {
+                    throw new IllegalStateException("Device exists");
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private byte[] render(DeviceNotFoundException ex) throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response = handler.handleDeviceNotFoundException(ex);
+        return writer.writeValueAsBytes(response.getBody());
+    }
+
+    private static void descend(int depth, Runnable lookup) {
+        if (depth == 0) {
+            lookup.run();
+        } else {
+            descend(depth - 1, lookup);
+        }
+    }
+
+    /**
+     * The not-found exception as it was before, capturing the stack trace on construction.
+     */
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        private StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
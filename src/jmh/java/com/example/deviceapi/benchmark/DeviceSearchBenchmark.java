@@ -0,0 +1,66 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.search.DeviceSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DeviceSearchIndex#search} over a synthetic inventory: a selective substring,
+ * a short word prefix and a substring shared by a large share of all devices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeviceSearchBenchmark {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Google", "Lenovo", "Dell", "Sony", "Xiaomi", "Nokia"};
+    private static final String[] MODELS = {"Phone", "Tablet", "Laptop", "Watch", "Router", "Camera", "Monitor", "Speaker"};
+
+    @Param({"1000000"})
+    public int devices;
+
+    @Param({"x7k2", "ca", "phone"})
+    public String query;
+
+    private DeviceSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new DeviceSearchIndex(null, TransactionOperations.withoutTransaction(), new DeviceProperties(),
+                new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= devices; id++) {
+            String name = MODELS[random.nextInt(MODELS.length)] + " " + Long.toString(random.nextLong(1L << 40), 36);
+            Device device = Device.builder()
+                    .id(id)
+                    .name(name)
+                    .brand(BRANDS[random.nextInt(BRANDS.length)])
+                    .state(DeviceState.AVAILABLE)
+                    .version(0L)
+                    .build();
+            index.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device));
+        }
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.entity.DeviceState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DeviceState#fromString} for the values seen on query strings and request bodies,
+ * including the rejection path for unknown states.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeviceStateBenchmark {
+
+    @Param({"available", "IN-USE", "inactive"})
+    public String value;
+
+    private String invalidValue;
+
+    @Setup
+    public void setUp() {
+        invalidValue = value + "-unknown";
+    }
+
+    @Benchmark
+    public DeviceState valid() {
+        return DeviceState.fromString(value);
+    }
+
+    @Benchmark
+    public Object invalid() {
+        try {
+            return DeviceState.fromString(invalidValue);
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.mapper.DeviceMapper;
+import com.example.deviceapi.mapper.DeviceMapperImpl;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares encoding a page of devices as JSON, CBOR and Smile, each plain and gzipped, with the
+ * mappers configured like the HTTP message converters. The payload size of every variant is
+ * printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeviceWireFormatBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private DevicePage<DeviceResponse> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build().writer();
+            case "cbor" -> binary(new CBORFactory());
+            case "smile" -> binary(new SmileFactory());
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        DeviceMapper mapper = new DeviceMapperImpl();
+        List<DeviceResponse> devices = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            devices.add(mapper.toResponse(Device.builder()
+                    .id(id)
+                    .name("Device " + id)
+                    .brand(id % 2 == 0 ? "Apple" : "Samsung")
+                    .state(DeviceState.values()[(int) (id % DeviceState.values().length)])
+                    .version(id % 7)
+                    .creationTime(now.plusSeconds(id).plusNanos(id * 1000))
+                    .updateTime(now.plusSeconds(id * 2).plusNanos(id * 1000))
+                    .build()));
+        }
+        page = new DevicePage<>(devices, "aWR8NTA");
+
+        System.out.printf("%n%s, %d devices: %d bytes, %d bytes gzipped%n",
+                format, size, encode().length, encodeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ObjectWriter binary(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX, SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+    }
+}
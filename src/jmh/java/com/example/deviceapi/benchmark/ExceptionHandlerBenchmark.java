@@ -0,0 +1,74 @@
+package com.example.deviceapi.benchmark;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.exception.ErrorResponse;
+import com.example.deviceapi.exception.GlobalExceptionHandler;
+import com.example.deviceapi.exception.ValidationErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the error-response path: building the exception, mapping it in
+ * {@link GlobalExceptionHandler} (including the error counter) and serializing the body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    private ObjectWriter writer;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new DeviceCreateDto(), "deviceCreateDto");
+        bindingResult.rejectValue("name", "NotBlank", "Name is required");
+        bindingResult.rejectValue("brand", "NotBlank", "Brand is required");
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("target", DeviceCreateDto.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] notFound() throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleDeviceNotFoundException(new DeviceNotFoundException("Device not found with id: 42"));
+        return writer.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] invalidState() throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleIllegalArgumentException(new IllegalArgumentException("Invalid device state: broken"));
+        return writer.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] validationFailed() throws JsonProcessingException {
+        ResponseEntity<ValidationErrorResponse> response = handler.handleValidationException(validationException);
+        return writer.writeValueAsBytes(response.getBody());
+    }
+
+    @SuppressWarnings("unused")
+    private void target(DeviceCreateDto dto) {
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.deviceapi;
 
+import com.example.deviceapi.config.DeviceRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(DeviceRuntimeHints.class)
 public class DeviceapiApplication {
 
     public static void main(String[] args) {
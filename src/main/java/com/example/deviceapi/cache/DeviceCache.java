@@ -0,0 +1,154 @@
+package com.example.deviceapi.cache;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.datasource.ReplicaRoutingDataSource;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache for devices looked up by id. Entries are immutable snapshots:
+ * callers always receive a copy, and a snapshot only replaces a cached one when its
+ * {@code version} is not older, so a slow reader can never overwrite a newer committed state.
+ * Updates refresh and deletes evict the entry once the writing transaction has committed. A
+ * deleted id is tombstoned for the entry TTL, so that neither a lookup that read the row before the
+ * delete committed nor a late update event can put it back; snapshots read from a replica are
+ * never cached, since the replica may not have seen the latest update or delete yet.
+ * <p>
+ * Ids looked up without result are remembered in a second, negative cache, so that clients
+ * polling for unknown ids do not cost a query each. A miss is only recorded if no device was
+ * created since the lookup started, which keeps a create committing during the lookup from being
+ * hidden, and only if the lookup read from the primary: a lagging replica may not have the device
+ * yet. Requests pinned to the primary after a write bypass the negative cache altogether, since
+ * the write may have created the device on another instance.
+ */
+@Component
+public class DeviceCache {
+
+    private final Cache<Long, Device> cache;
+    private final Cache<Long, Boolean> missing;
+    private final Cache<Long, Boolean> deleted;
+    private final AtomicLong creations = new AtomicLong();
+
+    public DeviceCache(DeviceProperties deviceProperties, MeterRegistry meterRegistry) {
+        DeviceProperties.Cache properties = deviceProperties.getCache();
+        if (properties.isEnabled()) {
+            cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "devices");
+            missing = Caffeine.newBuilder()
+                    .maximumSize(properties.getMissingMaxSize())
+                    .expireAfterWrite(properties.getMissingTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, missing, "devices-missing");
+            deleted = Caffeine.newBuilder()
+                    .maximumSize(properties.getMissingMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .build();
+        } else {
+            cache = null;
+            missing = null;
+            deleted = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Optional<Device> get(Long id) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+        Device cached = cache.getIfPresent(id);
+        return cached != null ? Optional.of(copy(cached)) : Optional.empty();
+    }
+
+    public void put(Device device) {
+        if (cache == null || ReplicaRoutingDataSource.isReadingFromReplica()) {
+            return;
+        }
+        Device snapshot = copy(device);
+        cache.asMap().compute(device.getId(), (id, existing) -> {
+            if (deleted.getIfPresent(id) != null) {
+                return null;
+            }
+            return existing == null || versionOf(existing) <= versionOf(snapshot) ? snapshot : existing;
+        });
+    }
+
+    public void evict(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Whether the id was recently looked up, or deleted, and found not to exist.
+     */
+    public boolean isKnownMissing(Long id) {
+        return missing != null && !ReplicaRoutingDataSource.isPinnedToPrimary() && missing.getIfPresent(id) != null;
+    }
+
+    /**
+     * Marks the start of a lookup whose miss may be passed to {@link #putMissing}.
+     */
+    public long creationMark() {
+        return creations.get();
+    }
+
+    /**
+     * Remembers that the id does not exist, unless a device was created since {@code mark} or the
+     * lookup did not read from the primary.
+     */
+    public void putMissing(Long id, long mark) {
+        if (missing != null && creations.get() == mark && !ReplicaRoutingDataSource.isPinnedToPrimary()
+                && !ReplicaRoutingDataSource.isReadingFromReplica()) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                // populated lazily on first read
+                creations.incrementAndGet();
+                if (missing != null) {
+                    missing.invalidate(event.getDeviceId());
+                }
+            }
+            case UPDATED -> put(event.getAfter());
+            case DELETED -> {
+                if (deleted != null) {
+                    // Before the eviction, so that a concurrent put either precedes it or sees the tombstone
+                    deleted.put(event.getDeviceId(), Boolean.TRUE);
+                }
+                evict(event.getDeviceId());
+                if (missing != null) {
+                    missing.put(event.getDeviceId(), Boolean.TRUE);
+                }
+            }
+        }
+    }
+
+    private static long versionOf(Device device) {
+        return device.getVersion() != null ? device.getVersion() : -1L;
+    }
+
+    private static Device copy(Device device) {
+        return device.toBuilder().build();
+    }
+}
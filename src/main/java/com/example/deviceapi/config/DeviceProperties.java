@@ -0,0 +1,342 @@
+package com.example.deviceapi.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "device")
+public class DeviceProperties {
+
+    private Pagination pagination = new Pagination();
+    private Export export = new Export();
+    private Batch batch = new Batch();
+    private GroupCommit groupCommit = new GroupCommit();
+    private Bulk bulk = new Bulk();
+    private Cache cache = new Cache();
+    private Stats stats = new Stats();
+    private Changes changes = new Changes();
+    private Search search = new Search();
+    private ReadModel readModel = new ReadModel();
+    private Limits limits = new Limits();
+    private Datasource datasource = new Datasource();
+
+    @Data
+    public static class Pagination {
+
+        /**
+         * Page size used when the client does not send a limit.
+         */
+        private int defaultLimit = 50;
+
+        /**
+         * Upper bound for the page size; larger limits are clamped to this value.
+         */
+        private int maxLimit = 500;
+    }
+
+    @Data
+    public static class Export {
+
+        /**
+         * JDBC fetch size of the export cursor, i.e. rows pulled from the database per round trip.
+         */
+        private int fetchSize = 1000;
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Number of inserts sent to the database in one JDBC batch.
+         */
+        private int size = 50;
+
+        /**
+         * Maximum number of devices accepted by a single batch create request.
+         */
+        private int maxItems = 10000;
+    }
+
+    @Data
+    public static class GroupCommit {
+
+        /**
+         * Whether concurrent single creates are inserted together in shared transactions.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Most creates committed in one transaction.
+         */
+        private int maxSize = 100;
+
+        /**
+         * How long a batch waits for more creates after the first one; longer windows give larger
+         * batches and fewer commits at the cost of create latency.
+         */
+        private Duration maxDelay = Duration.ofNanos(500_000);
+    }
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Rows locked and changed per transaction by filter-based bulk operations.
+         */
+        private int chunkSize = 500;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether device lookups by id are served from the in-process cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of devices kept in the cache.
+         */
+        private long maxSize = 10000;
+
+        /**
+         * How long an entry may be served after it was loaded or refreshed.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of ids remembered as not existing.
+         */
+        private long missingMaxSize = 100000;
+
+        /**
+         * How long an id is remembered as not existing. Creates on this instance clear it right
+         * away; this bounds how long a device created by another instance can be reported missing.
+         */
+        private Duration missingTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Stats {
+
+        /**
+         * Delay between GROUP BY reconciliations of the in-memory inventory counters.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Changes {
+
+        /**
+         * Number of recent changes kept in memory for feed subscribers; slower subscribers read
+         * from the outbox table.
+         */
+        private int bufferSize = 4096;
+
+        /**
+         * Outbox rows read per dispatcher poll, and per page when a subscriber catches up.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay between outbox polls, i.e. the usual feed latency.
+         */
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * Delay between deletions of outbox rows older than {@code retention}.
+         */
+        private Duration pruneInterval = Duration.ofHours(1);
+
+        /**
+         * Interval of the comment lines that keep idle connections open and detect disconnects.
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * Reconnect delay suggested to clients through the SSE {@code retry} field.
+         */
+        private Duration retry = Duration.ofSeconds(3);
+
+        /**
+         * How long outbox rows are kept, i.e. how far back a client can resume.
+         */
+        private Duration retention = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * Whether searches are served from the in-memory trigram index; when disabled (or while the
+         * index is first built) they fall back to a LIKE query.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between full rebuilds of the index from the device table.
+         */
+        private Duration rebuildInterval = Duration.ofHours(1);
+
+        /**
+         * Number of results returned when the client does not send a limit.
+         */
+        private int defaultLimit = 20;
+
+        /**
+         * Upper bound for the number of results; larger limits are clamped to this value.
+         */
+        private int maxLimit = 100;
+    }
+
+    @Data
+    public static class ReadModel {
+
+        /**
+         * Whether id-ordered list queries are served from an in-memory copy of the device table
+         * once it has been loaded.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between rebuilds of the copy from the device table, which also measure its drift.
+         */
+        private Duration verifyInterval = Duration.ofMinutes(15);
+    }
+
+    @Data
+    public static class Limits {
+
+        /**
+         * Whether requests to the device endpoints pass through the adaptive concurrency limiter.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Concurrency limit for reads; bulk reads (list, search, export) count against it too.
+         */
+        private Limit reads = new Limit(20, 4, 200, Duration.ofMillis(250));
+
+        /**
+         * Concurrency limit for single-device writes.
+         */
+        private Limit writes = new Limit(10, 2, 100, Duration.ofMillis(500));
+
+        /**
+         * Concurrency limit for bulk writes (batch create, transitions, filtered delete), whose
+         * latency grows with the number of devices they touch.
+         */
+        private Limit bulkWrites = new Limit(2, 1, 8, Duration.ofSeconds(10));
+
+        /**
+         * Share of the read limit that bulk reads may occupy, keeping the rest for lookups by id.
+         */
+        private double bulkShare = 0.75;
+
+        /**
+         * Factor applied to a limit when a request is slower than its latency threshold or fails.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Value of the {@code Retry-After} header on rejected requests.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Limit {
+
+            /**
+             * Limit at startup, before any latency has been observed.
+             */
+            private int initial;
+
+            /**
+             * Floor the limit never backs off below.
+             */
+            private int min;
+
+            /**
+             * Ceiling the limit never grows above.
+             */
+            private int max;
+
+            /**
+             * Requests slower than this make the limit back off.
+             */
+            private Duration latencyThreshold;
+        }
+    }
+
+    @Data
+    public static class Datasource {
+
+        private Admission admission = new Admission();
+        private Routing routing = new Routing();
+
+        @Data
+        public static class Admission {
+
+            /**
+             * Whether connection acquisition goes through a fair semaphore first. Meant for
+             * virtual-thread mode, where request concurrency is otherwise unbounded.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Connections that may be checked out at once; 0 uses the pool's maximum size.
+             */
+            private int maxConcurrent = 0;
+
+            /**
+             * How long a caller waits for admission before the request fails.
+             */
+            private Duration acquireTimeout = Duration.ofSeconds(5);
+        }
+
+        @Data
+        public static class Routing {
+
+            /**
+             * Whether read-only transactions are sent to the replicas.
+             */
+            private boolean enabled = false;
+
+            /**
+             * JDBC URLs of the read replicas; they use the primary's credentials.
+             */
+            private List<String> replicaUrls = new ArrayList<>();
+
+            /**
+             * Maximum size of each replica's connection pool.
+             */
+            private int replicaPoolSize = 10;
+
+            /**
+             * How long a read waits for a replica connection before the replica is taken out of
+             * rotation and the read goes elsewhere.
+             */
+            private Duration connectTimeout = Duration.ofSeconds(2);
+
+            /**
+             * Delay between checks that bring failed replicas back into rotation.
+             */
+            private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+            /**
+             * How long a client's reads go to the primary after it sent a write, so that it sees
+             * its own changes despite replication lag.
+             */
+            private Duration readYourWrites = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.deviceapi.config;
+
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.exception.ErrorResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the native image. Controller return types are registered by Spring AOT;
+ * these types are serialized by hand instead: export and bulk-delete streams, change feed
+ * events, outbox payloads and the load-shedding response.
+ */
+public class DeviceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DeviceResponse.class,
+                DeviceDeletionProgress.class,
+                DeviceChangeMessage.class,
+                ErrorResponse.class);
+    }
+}
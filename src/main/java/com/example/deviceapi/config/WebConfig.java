@@ -0,0 +1,64 @@
+package com.example.deviceapi.config;
+
+import com.example.deviceapi.entity.DeviceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, DeviceState.class, DeviceState::fromString);
+    }
+
+    /**
+     * {@code application/cbor}, negotiated through {@code Accept} and {@code Content-Type}. Replaces
+     * the default CBOR converter so that it shares the Boot-configured Jackson modules.
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder.factory(new CBORFactory())));
+    }
+
+    /**
+     * {@code application/x-jackson-smile}; see {@link #cborHttpMessageConverter}.
+     */
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder.factory(new SmileFactory())));
+    }
+
+    /**
+     * Binary formats send states as their ordinal and timestamps as arrays of numbers instead of
+     * strings.
+     */
+    private static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX, SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Streaming responses (export, bulk delete, change feed) block a thread for as long as the
+     * client reads. They run on virtual threads so that open change feed connections cannot
+     * exhaust the bounded task executor used by default.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-stream-");
+        executor.setVirtualThreads(true);
+        configurer.setTaskExecutor(executor);
+    }
+}
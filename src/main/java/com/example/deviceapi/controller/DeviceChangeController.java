@@ -0,0 +1,41 @@
+package com.example.deviceapi.controller;
+
+import com.example.deviceapi.feed.DeviceChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/devices/changes")
+@Tag(name = "Device Management", description = "Operations for managing devices")
+@RequiredArgsConstructor
+public class DeviceChangeController {
+
+    private final DeviceChangeFeed deviceChangeFeed;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to device creations, updates and deletions as Server-Sent Events")
+    @ApiResponse(responseCode = "200", description = "Event stream; each event id can be sent back as Last-Event-ID to resume")
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @Parameter(description = "Id of the last event received; the feed resumes right after it")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        StreamingResponseBody body = outputStream -> deviceChangeFeed.stream(lastEventId, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                // Keeps reverse proxies such as nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+}
@@ -1,21 +1,43 @@
 package com.example.deviceapi.controller;
 
+import com.example.deviceapi.dto.DeviceBatchCreateDto;
+import com.example.deviceapi.dto.DeviceBatchCreateResult;
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSearchResult;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.dto.DeviceTransitionDto;
+import com.example.deviceapi.dto.DeviceTransitionResult;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
-import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.mapper.DeviceMapper;
 import com.example.deviceapi.service.DeviceService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/devices")
@@ -24,51 +46,132 @@ import java.util.List;
 public class DeviceController {
 
     private final DeviceService deviceService;
+    private final DeviceMapper deviceMapper;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new device")
     @ApiResponse(responseCode = "201", description = "Device created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid input data")
-    public ResponseEntity<Device> createDevice(@Valid @RequestBody DeviceCreateDto createDto) {
+    public ResponseEntity<DeviceResponse> createDevice(@Valid @RequestBody DeviceCreateDto createDto) {
         Device device = deviceService.createDevice(createDto);
-        return new ResponseEntity<>(device, HttpStatus.CREATED);
+        return new ResponseEntity<>(deviceMapper.toResponse(device), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create many devices in one request")
+    @ApiResponse(responseCode = "201", description = "Devices created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid input data or batch too large")
+    public ResponseEntity<DeviceBatchCreateResult> createDevices(@Valid @RequestBody DeviceBatchCreateDto batchDto) {
+        List<Long> ids = deviceService.createDevices(batchDto.getDevices())
+                .stream()
+                .map(Device::getId)
+                .toList();
+        return new ResponseEntity<>(new DeviceBatchCreateResult(ids.size(), ids), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/transitions")
+    @Operation(summary = "Move every device matching a filter to a new state")
+    @ApiResponse(responseCode = "200", description = "Counts of updated, rejected (in use) and unchanged devices")
+    @ApiResponse(responseCode = "400", description = "Missing filter, target state or too many ids")
+    public ResponseEntity<DeviceTransitionResult> transitionDevices(@Valid @RequestBody DeviceTransitionDto transitionDto) {
+        return ResponseEntity.ok(deviceService.transitionDevices(transitionDto.getFilter(), transitionDto.getTargetState()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a device by ID")
     @ApiResponse(responseCode = "200", description = "Device found")
+    @ApiResponse(responseCode = "304", description = "Device unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Device not found")
-    public ResponseEntity<Device> getDevice(
-            @Parameter(description = "Device ID") @PathVariable Long id) {
-        Device device = deviceService.getDeviceById(id);
-        return ResponseEntity.ok(device);
+    public ResponseEntity<DeviceResponse> getDevice(
+            @Parameter(description = "Device ID") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,state (default: all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "ETag of a previously fetched representation")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> etag = deviceService.getDeviceVersion(id).map(DeviceETags::forVersion);
+            if (etag.isPresent() && DeviceETags.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+
+        DeviceResponse device = deviceService.getDeviceById(id, DeviceField.parse(fields));
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.forVersion(device.getVersion()))
+                .body(device);
     }
 
     @GetMapping
-    @Operation(summary = "Get all devices or filter by brand/state")
+    @Operation(summary = "List devices page by page, optionally filtered")
     @ApiResponse(responseCode = "200", description = "Devices retrieved successfully")
-    public ResponseEntity<List<Device>> getDevices(
-            @Parameter(description = "Filter by brand") @RequestParam(required = false) String brand,
-            @Parameter(description = "Filter by state") @RequestParam(required = false) String state) {
-
-        List<Device> devices;
-
-        if (brand != null && state != null) {
-            DeviceState deviceState = DeviceState.fromString(state);
-            devices = deviceService.getDevicesByBrand(brand)
-                    .stream()
-                    .filter(d -> d.getState() == deviceState)
-                    .toList();
-        } else if (brand != null) {
-            devices = deviceService.getDevicesByBrand(brand);
-        } else if (state != null) {
-            DeviceState deviceState = DeviceState.fromString(state);
-            devices = deviceService.getDevicesByState(deviceState);
-        } else {
-            devices = deviceService.getAllDevices();
+    @ApiResponse(responseCode = "304", description = "Page unchanged since the If-None-Match ETag")
+    @ApiResponse(responseCode = "400", description = "Invalid filter, sort or cursor")
+    public ResponseEntity<DevicePage<DeviceResponse>> getDevices(
+            @ParameterObject @ModelAttribute DeviceFilter filter,
+            @Parameter(description = "Sort order: id or creationTime") @RequestParam(required = false) String sort,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,state (default: all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of devices per page") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "ETag of a previously fetched page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        DeviceSort deviceSort = sort != null ? DeviceSort.fromString(sort) : DeviceSort.ID;
+
+        DevicePage<DeviceResponse> page =
+                deviceService.getDevices(filter, deviceSort, cursor, limit, DeviceField.parse(fields));
+        String etag = DeviceETags.forPage(page);
+        if (DeviceETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
 
-        return ResponseEntity.ok(devices);
+    @GetMapping("/search")
+    @Operation(summary = "Search devices by name or brand prefix or substring, best match first")
+    @ApiResponse(responseCode = "200", description = "Matching devices, ranked and capped")
+    @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid limit")
+    public ResponseEntity<DeviceSearchResult> searchDevices(
+            @Parameter(description = "Text to search for; at least 3 characters for substring matches")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name (default: all)")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(deviceService.searchDevices(q, limit, DeviceField.parse(fields)));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Count devices by state and by brand and state")
+    @ApiResponse(responseCode = "200", description = "Counts from in-memory counters, reconciled periodically")
+    public ResponseEntity<DeviceStats> getDeviceStats() {
+        return ResponseEntity.ok(deviceService.getDeviceStats());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all devices as newline-delimited JSON, optionally filtered")
+    @ApiResponse(responseCode = "200", description = "Devices streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid filter")
+    public ResponseEntity<StreamingResponseBody> exportDevices(@ParameterObject @ModelAttribute DeviceFilter filter) {
+        ObjectWriter writer = objectMapper.writerFor(DeviceResponse.class);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                deviceService.exportDevices(filter, device -> {
+                    try {
+                        writer.writeValue(generator, deviceMapper.toResponse(device));
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PutMapping("/{id}")
@@ -76,11 +179,16 @@ public class DeviceController {
     @ApiResponse(responseCode = "200", description = "Device updated successfully")
     @ApiResponse(responseCode = "404", description = "Device not found")
     @ApiResponse(responseCode = "400", description = "Invalid update operation")
-    public ResponseEntity<Device> updateDevice(
+    @ApiResponse(responseCode = "412", description = "Device no longer matches If-Match")
+    public ResponseEntity<DeviceResponse> updateDevice(
             @Parameter(description = "Device ID") @PathVariable Long id,
+            @Parameter(description = "Expected version as returned in the ETag header")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody DeviceUpdateDto updateDto) {
-        Device device = deviceService.updateDevice(id, updateDto);
-        return ResponseEntity.ok(device);
+        Device device = deviceService.updateDevice(id, updateDto, DeviceETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.forVersion(device.getVersion()))
+                .body(deviceMapper.toResponse(device));
     }
 
     @PatchMapping("/{id}")
@@ -88,11 +196,46 @@ public class DeviceController {
     @ApiResponse(responseCode = "200", description = "Device updated successfully")
     @ApiResponse(responseCode = "404", description = "Device not found")
     @ApiResponse(responseCode = "400", description = "Invalid update operation")
-    public ResponseEntity<Device> partialUpdateDevice(
+    @ApiResponse(responseCode = "412", description = "Device no longer matches If-Match")
+    public ResponseEntity<DeviceResponse> partialUpdateDevice(
             @Parameter(description = "Device ID") @PathVariable Long id,
+            @Parameter(description = "Expected version as returned in the ETag header")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody DeviceUpdateDto updateDto) {
-        Device device = deviceService.updateDevice(id, updateDto);
-        return ResponseEntity.ok(device);
+        Device device = deviceService.updateDevice(id, updateDto, DeviceETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(DeviceETags.forVersion(device.getVersion()))
+                .body(deviceMapper.toResponse(device));
+    }
+
+    @DeleteMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Delete every device matching a filter, streaming progress as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One line per committed chunk, then the final counts with done=true")
+    @ApiResponse(responseCode = "400", description = "Missing filter or too many ids")
+    public ResponseEntity<StreamingResponseBody> deleteDevices(@ParameterObject @ModelAttribute DeviceFilter filter) {
+        // Checked before streaming so that a bad filter still gets a 400 instead of an empty 200
+        deviceService.validateBulkFilter(filter);
+        ObjectWriter writer = objectMapper.writerFor(DeviceDeletionProgress.class);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                DeviceDeletionProgress result = deviceService.deleteDevices(filter, progress -> {
+                    try {
+                        writer.writeValue(generator, progress);
+                        generator.writeRaw('\n');
+                        generator.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                writer.writeValue(generator, result);
+                generator.writeRaw('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
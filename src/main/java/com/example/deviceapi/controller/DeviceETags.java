@@ -0,0 +1,83 @@
+package com.example.deviceapi.controller;
+
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Entity tags derived from {@code Device.version}: version 3 is sent as {@code W/"3"}.
+ * A page of devices is tagged with its size and a checksum of the ids and versions it contains,
+ * so any create, update or delete within the page changes it. Every update bumps the version,
+ * which is why pages carry {@code id} and {@code version} whatever fields were requested. All tags
+ * are weak: the JSON, CBOR, Smile and compressed encodings of a resource are equivalent, not
+ * identical. {@code If-Match} still compares the version, since that is what a write depends on.
+ */
+final class DeviceETags {
+
+    private DeviceETags() {
+    }
+
+    static String forVersion(Long version) {
+        return "W/\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    static String forPage(DevicePage<DeviceResponse> page) {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (DeviceResponse device : page.getItems()) {
+            buffer.clear();
+            buffer.putLong(device.getId() != null ? device.getId() : 0L)
+                    .putLong(device.getVersion() != null ? device.getVersion() : 0L)
+                    .flip();
+            checksum.update(buffer);
+        }
+        return "W/\"" + page.getItems().size() + "-" + Long.toHexString(checksum.getValue())
+                + (page.getNext() != null ? "-n" : "") + "\"";
+    }
+
+    /**
+     * Returns whether an {@code If-None-Match} header matches the current tag, using the weak
+     * comparison RFC 9110 prescribes for conditional GETs.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Extracts the expected version from an {@code If-Match} header. Returns {@code null} when
+     * the header is absent or {@code *}, i.e. when the client did not ask for a precondition.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
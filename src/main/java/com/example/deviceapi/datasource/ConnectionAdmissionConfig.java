@@ -0,0 +1,73 @@
+package com.example.deviceapi.datasource;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "device.datasource.admission", name = "enabled", havingValue = "true")
+public class ConnectionAdmissionConfig {
+
+    @Bean
+    static BeanPostProcessor connectionAdmissionPostProcessor(ObjectProvider<DeviceProperties> deviceProperties,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdmissionPostProcessor(deviceProperties, meterRegistry);
+    }
+
+    /**
+     * Ordered so that it wraps the pool itself, before {@link ReplicaRoutingConfig} puts the
+     * routing proxy around it.
+     */
+    private record AdmissionPostProcessor(ObjectProvider<DeviceProperties> deviceProperties,
+                                          ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                return bean;
+            }
+            DeviceProperties.Datasource.Admission admission =
+                    deviceProperties.getObject().getDatasource().getAdmission();
+            int maxConcurrent = admission.getMaxConcurrent() > 0
+                    ? admission.getMaxConcurrent()
+                    : poolSizeOf(dataSource);
+
+            AdmissionControlledDataSource controlled =
+                    new AdmissionControlledDataSource(dataSource, maxConcurrent, admission.getAcquireTimeout());
+            meterRegistry.ifAvailable(registry -> bindMetrics(registry, beanName, controlled));
+            return controlled;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static int poolSizeOf(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String name, AdmissionControlledDataSource dataSource) {
+        Gauge.builder("device.datasource.admission.available", dataSource,
+                        AdmissionControlledDataSource::getAvailablePermits)
+                .tag("name", name)
+                .description("Free database admission permits")
+                .register(registry);
+        Gauge.builder("device.datasource.admission.waiting", dataSource,
+                        AdmissionControlledDataSource::getQueueLength)
+                .tag("name", name)
+                .description("Callers queued for database admission")
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.deviceapi.datasource;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replica pools, handed out round-robin. A replica that fails to hand out a connection is
+ * taken out of rotation until the next health check finds it valid again.
+ */
+public class DatabaseReplicas {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public DatabaseReplicas(List<DataSource> dataSources) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+    }
+
+    /**
+     * Returns a connection to the next healthy replica, or {@code null} when none can be reached.
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.healthy = false;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${device.datasource.routing.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
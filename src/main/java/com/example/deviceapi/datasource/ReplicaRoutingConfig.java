@@ -0,0 +1,79 @@
+package com.example.deviceapi.datasource;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replicas. The primary data source is wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which defers fetching a connection until the first
+ * statement; by then the transaction manager has marked it read-only, and the proxy takes it from
+ * {@link ReplicaRoutingDataSource} instead of the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "device.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    DatabaseReplicas databaseReplicas(DeviceProperties deviceProperties, DataSourceProperties dataSourceProperties,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        DeviceProperties.Datasource.Routing routing = deviceProperties.getDatasource().getRouting();
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicaUrls().size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(routing.getReplicaUrls().get(i));
+            pool.setUsername(dataSourceProperties.determineUsername());
+            pool.setPassword(dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(routing.getReplicaPoolSize());
+            pool.setConnectionTimeout(routing.getConnectTimeout().toMillis());
+            pool.setReadOnly(true);
+            // A replica that is down at startup must not keep the application from starting
+            pool.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(pool);
+        }
+
+        DatabaseReplicas replicas = new DatabaseReplicas(pools);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("device.datasource.replicas.healthy", replicas,
+                        DatabaseReplicas::healthyCount)
+                .description("Replicas currently in the read rotation")
+                .register(registry));
+        return replicas;
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(DeviceProperties deviceProperties) {
+        return new ReadYourWritesFilter(deviceProperties.getDatasource().getRouting().getReadYourWrites(),
+                Clock.systemUTC());
+    }
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(ObjectProvider<DatabaseReplicas> replicas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+                proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas.getObject()));
+                return proxy;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.deviceapi.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Target for read-only transactions: a replica connection, unless the current request is pinned
+ * to the primary by {@link ReadYourWritesFilter} or no replica is reachable.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> READ_FROM_REPLICA = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DatabaseReplicas replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, DatabaseReplicas replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    static void setPinnedToPrimary(boolean pinned) {
+        if (pinned) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        } else {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    /**
+     * Whether the current request has written recently and reads from the primary.
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /**
+     * Whether the current transaction is read-only and reads from a replica, which may lag behind
+     * the primary. Always {@code false} when routing is disabled.
+     */
+    public static boolean isReadingFromReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && READ_FROM_REPLICA.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isPinnedToPrimary()) {
+            Connection replica = replicas.getConnection();
+            if (replica != null) {
+                markReadFromReplica();
+                return replica;
+            }
+        }
+        READ_FROM_REPLICA.remove();
+        return primary.getConnection();
+    }
+
+    /**
+     * Sets the flag for the current transaction only, so that it does not outlive it on a pooled
+     * thread.
+     */
+    private static void markReadFromReplica() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        READ_FROM_REPLICA.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                READ_FROM_REPLICA.remove();
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
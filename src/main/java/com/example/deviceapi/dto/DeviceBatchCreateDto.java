@@ -0,0 +1,18 @@
+package com.example.deviceapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceBatchCreateDto {
+
+    @NotEmpty(message = "At least one device is required")
+    private List<@Valid DeviceCreateDto> devices;
+}
@@ -0,0 +1,14 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DeviceBatchCreateResult {
+
+    private int created;
+    private List<Long> ids;
+}
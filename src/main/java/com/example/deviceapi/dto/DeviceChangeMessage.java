@@ -0,0 +1,27 @@
+package com.example.deviceapi.dto;
+
+import com.example.deviceapi.event.DeviceChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed. {@code device} is the stored JSON of the device after the
+ * change, written out as is; it is left out for deletions.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceChangeMessage {
+
+    private Long id;
+    private DeviceChangeType type;
+    private Long deviceId;
+    private LocalDateTime occurredAt;
+
+    @JsonRawValue
+    private String device;
+}
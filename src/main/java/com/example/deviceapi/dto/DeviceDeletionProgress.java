@@ -0,0 +1,18 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Running totals of a bulk delete, reported after every committed chunk. Devices in use are
+ * never deleted and are counted as rejected; {@code done} is only set on the final report.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceDeletionProgress {
+
+    private int chunks;
+    private int deleted;
+    private int rejected;
+    private boolean done;
+}
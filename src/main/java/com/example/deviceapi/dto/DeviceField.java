@@ -0,0 +1,56 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Device attributes that can be requested with {@code ?fields=}. The value is both the JSON
+ * property and the entity attribute it is selected from.
+ */
+@AllArgsConstructor
+@Getter
+public enum DeviceField {
+
+    ID("id"),
+    NAME("name"),
+    BRAND("brand"),
+    STATE("state"),
+    VERSION("version"),
+    CREATION_TIME("creationTime"),
+    UPDATE_TIME("updateTime");
+
+    private final String value;
+
+    public static DeviceField fromString(String value) {
+        for (DeviceField field : DeviceField.values()) {
+            if (field.value.equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid field: " + value);
+    }
+
+    public static Set<DeviceField> all() {
+        return EnumSet.allOf(DeviceField.class);
+    }
+
+    /**
+     * Parses a comma-separated field list. {@code id} and {@code version} are always included
+     * because they identify the row and back its ETag; a missing or blank list selects every field.
+     */
+    public static Set<DeviceField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all();
+        }
+        Set<DeviceField> parsed = EnumSet.of(ID, VERSION);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                parsed.add(fromString(field.trim()));
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.deviceapi.dto;
+
+import com.example.deviceapi.entity.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filter shared by the device list, export and bulk endpoints. Every non-empty criterion
+ * becomes one predicate of a single SQL statement.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceFilter {
+
+    @Schema(description = "Brand, matched case-insensitively")
+    private String brand;
+
+    @Schema(description = "One or more states, e.g. state=available&state=in-use")
+    private List<DeviceState> state;
+
+    @Schema(description = "One or more device ids, e.g. ids=1,2,3")
+    private List<Long> ids;
+
+    @Schema(description = "Case-insensitive name prefix")
+    private String namePrefix;
+
+    @Schema(description = "Created at or after (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @Schema(description = "Created strictly before (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @Schema(description = "Updated at or after (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @Schema(description = "Updated strictly before (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    public static DeviceFilter none() {
+        return new DeviceFilter();
+    }
+
+    /**
+     * Returns whether at least one criterion is set, i.e. whether the filter narrows the table.
+     */
+    public boolean hasCriteria() {
+        return (brand != null && !brand.isBlank())
+                || (state != null && !state.isEmpty())
+                || (ids != null && !ids.isEmpty())
+                || (namePrefix != null && !namePrefix.isEmpty())
+                || createdFrom != null || createdTo != null
+                || updatedFrom != null || updatedTo != null;
+    }
+}
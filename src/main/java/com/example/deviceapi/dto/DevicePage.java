@@ -0,0 +1,18 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated device listing. {@code next} is an opaque cursor for the
+ * following page, or {@code null} when this is the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class DevicePage<T> {
+
+    private List<T> items;
+    private String next;
+}
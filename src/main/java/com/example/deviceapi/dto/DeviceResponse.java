@@ -0,0 +1,28 @@
+package com.example.deviceapi.dto;
+
+import com.example.deviceapi.entity.DeviceState;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * API representation of a device. Attributes that were not requested through {@code ?fields=}
+ * are {@code null} and left out of the JSON.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceResponse {
+
+    private Long id;
+    private String name;
+    private String brand;
+    private DeviceState state;
+    private Long version;
+    private LocalDateTime creationTime;
+    private LocalDateTime updateTime;
+}
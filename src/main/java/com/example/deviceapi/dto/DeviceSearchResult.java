@@ -0,0 +1,17 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Devices whose name or brand matches a search query, best match first.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceSearchResult {
+
+    private String query;
+    private List<DeviceResponse> items;
+}
@@ -0,0 +1,23 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum DeviceSort {
+
+    ID("id"),
+    CREATION_TIME("creationTime");
+
+    private final String value;
+
+    public static DeviceSort fromString(String value) {
+        for (DeviceSort sort : DeviceSort.values()) {
+            if (sort.value.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort: " + value);
+    }
+}
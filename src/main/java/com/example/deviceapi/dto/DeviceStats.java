@@ -0,0 +1,22 @@
+package com.example.deviceapi.dto;
+
+import com.example.deviceapi.entity.DeviceState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Device inventory counts. {@code reconciledAt} is when the counters were last checked against
+ * the database, or {@code null} before the first reconciliation.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceStats {
+
+    private long total;
+    private Map<DeviceState, Long> byState;
+    private Map<String, Map<DeviceState, Long>> byBrand;
+    private Instant reconciledAt;
+}
@@ -0,0 +1,19 @@
+package com.example.deviceapi.dto;
+
+import com.example.deviceapi.entity.DeviceState;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceTransitionDto {
+
+    @NotNull(message = "Filter is required")
+    private DeviceFilter filter;
+
+    @NotNull(message = "Target state is required")
+    private DeviceState targetState;
+}
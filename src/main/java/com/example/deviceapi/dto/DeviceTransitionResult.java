@@ -0,0 +1,17 @@
+package com.example.deviceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a bulk state transition: devices moved to the target state, devices left alone
+ * because they are in use, and devices that were already in the target state.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceTransitionResult {
+
+    private int updated;
+    private int rejected;
+    private int unchanged;
+}
@@ -0,0 +1,68 @@
+package com.example.deviceapi.entity;
+
+import com.example.deviceapi.event.DeviceChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as the device change it describes. Ids are taken at
+ * insert, but transactions commit in a different order, so the feed is ordered by
+ * {@link #position}, which the dispatcher assigns once the row has committed.
+ */
+@Entity
+@Table(name = "device_change", indexes = {
+        @Index(name = "idx_device_change_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceChange {
+
+    /**
+     * Drawn from a pooled sequence, so that the rows of a bulk operation are inserted in JDBC
+     * batches like the devices themselves.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "device_change_seq")
+    @SequenceGenerator(name = "device_change_seq", sequenceName = "device_change_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeviceChangeType type;
+
+    @Column(nullable = false)
+    private Long deviceId;
+
+    /**
+     * JSON of the device after the change; {@code null} for deletions.
+     */
+    @Column(length = 4000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Position in the change feed, i.e. the SSE event id; {@code null} until dispatched.
+     */
+    @Column(name = "feed_position", unique = true)
+    private Long position;
+}
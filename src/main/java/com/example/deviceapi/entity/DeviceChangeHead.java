@@ -0,0 +1,30 @@
+package com.example.deviceapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row holding the last feed position handed out. Dispatchers lock it while they number
+ * newly committed outbox rows, so that positions are assigned one batch at a time, in commit
+ * order and without gaps, even with several application instances.
+ */
+@Entity
+@Table(name = "device_change_head")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceChangeHead {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastPosition;
+}
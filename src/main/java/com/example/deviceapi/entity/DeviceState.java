@@ -3,6 +3,11 @@ package com.example.deviceapi.entity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+/**
+ * Lifecycle state of a device. CBOR and Smile responses encode a state as its ordinal, so new
+ * states must only be appended, together with a migration that widens the check constraint on
+ * {@code device.state}.
+ */
 @AllArgsConstructor
 @Getter
 public enum DeviceState {
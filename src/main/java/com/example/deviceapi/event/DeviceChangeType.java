@@ -0,0 +1,8 @@
+package com.example.deviceapi.event;
+
+public enum DeviceChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
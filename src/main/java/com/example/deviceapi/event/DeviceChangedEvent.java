@@ -0,0 +1,23 @@
+package com.example.deviceapi.event;
+
+import com.example.deviceapi.entity.Device;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the device service for every committed write. {@code before} and {@code after}
+ * are detached snapshots taken after the change was flushed; {@code before} is {@code null}
+ * for creations and {@code after} is {@code null} for deletions.
+ */
+@Getter
+@AllArgsConstructor
+public class DeviceChangedEvent {
+
+    private DeviceChangeType type;
+    private Device before;
+    private Device after;
+
+    public Long getDeviceId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
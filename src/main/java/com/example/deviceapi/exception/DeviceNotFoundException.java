@@ -1,7 +1,28 @@
 package com.example.deviceapi.exception;
 
+/**
+ * Thrown for ids that do not exist. Like {@link DeviceValidationException} it is an expected
+ * outcome mapped to a response, so it skips stack trace capture.
+ */
 public class DeviceNotFoundException extends RuntimeException {
+
+    private final Long id;
+
     public DeviceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.id = null;
+    }
+
+    /**
+     * The message is only built when the exception is rendered.
+     */
+    public DeviceNotFoundException(Long id) {
+        super(null, null, false, false);
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return id != null ? "Device not found with id: " + id : super.getMessage();
     }
 }
@@ -2,6 +2,7 @@ package com.example.deviceapi.exception;
 
 public class DeviceValidationException extends RuntimeException {
     public DeviceValidationException(String message) {
-        super(message);
+        // Raised for bad input and mapped to a 400; a stack trace would never be looked at
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,18 @@
+package com.example.deviceapi.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DeviceVersionConflictException extends RuntimeException {
+
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public DeviceVersionConflictException(Long id, Long expectedVersion, Long currentVersion) {
+        super(expectedVersion != null
+                ? "Device " + id + " is at version " + currentVersion + ", expected " + expectedVersion
+                : "Device " + id + " was modified concurrently, current version is " + currentVersion);
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.deviceapi.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,12 +13,18 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<ErrorKey, Counter> counters = new ConcurrentHashMap<>();
+
     @ExceptionHandler(DeviceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleDeviceNotFoundException(DeviceNotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.NOT_FOUND.value(),
                 ex.getMessage(),
@@ -26,6 +35,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DeviceValidationException.class)
     public ResponseEntity<ErrorResponse> handleDeviceValidationException(DeviceValidationException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -34,8 +44,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DeviceVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleDeviceVersionConflictException(DeviceVersionConflictException ex) {
+        HttpStatus status = ex.getExpectedVersion() != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        count(ex, status);
+        ErrorResponse error = new ErrorResponse(
+                status.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, status);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
             String fieldName = ((FieldError) error).getField();
@@ -54,6 +77,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -61,4 +85,14 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    private void count(Exception ex, HttpStatus status) {
+        // Resolved once per exception type and status; a registry lookup allocates its tags each time
+        counters.computeIfAbsent(new ErrorKey(ex.getClass(), status), key -> meterRegistry.counter("device.api.errors",
+                "exception", key.type().getSimpleName(),
+                "status", String.valueOf(key.status().value()))).increment();
+    }
+
+    private record ErrorKey(Class<?> type, HttpStatus status) {
+    }
 }
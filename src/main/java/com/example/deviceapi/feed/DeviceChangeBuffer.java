@@ -0,0 +1,175 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size ring of the most recently dispatched changes, shared by all feed subscribers. Each
+ * subscriber only keeps its own cursor, so memory does not grow with the number of subscribers
+ * or with how far behind they are: once a slow subscriber's cursor drops below {@link #floor()}
+ * it has to catch up from the outbox table instead.
+ */
+@Component
+public class DeviceChangeBuffer {
+
+    private final DeviceChangeMessage[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private int start;
+    private int size;
+    private long floor;
+    private long head;
+    private boolean closed;
+
+    public DeviceChangeBuffer(DeviceProperties deviceProperties) {
+        this.ring = new DeviceChangeMessage[deviceProperties.getChanges().getBufferSize()];
+    }
+
+    /**
+     * Positions an empty buffer at {@code lastId}, the newest change that subscribers starting
+     * without a cursor are not interested in.
+     */
+    public void reset(long lastId) {
+        lock.lock();
+        try {
+            start = 0;
+            size = 0;
+            floor = lastId;
+            head = lastId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends changes in id order and wakes up waiting subscribers, evicting the oldest entries
+     * when the ring is full.
+     */
+    public void append(List<DeviceChangeMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (DeviceChangeMessage message : messages) {
+                if (size == ring.length) {
+                    floor = ring[start].getId();
+                    ring[start] = null;
+                    start = (start + 1) % ring.length;
+                    size--;
+                }
+                ring[(start + size) % ring.length] = message;
+                size++;
+                head = message.getId();
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code max} changes with an id above {@code afterId}, or {@code null} when
+     * changes after {@code afterId} have already been evicted.
+     */
+    public List<DeviceChangeMessage> readAfter(long afterId, int max) {
+        lock.lock();
+        try {
+            if (afterId < floor) {
+                return null;
+            }
+            int index = firstAfter(afterId);
+            List<DeviceChangeMessage> messages = new ArrayList<>(Math.min(max, size - index));
+            for (int i = index; i < size && messages.size() < max; i++) {
+                messages.add(ring[(start + i) % ring.length]);
+            }
+            return messages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a change newer than {@code afterId} is dispatched. Returns {@code false} on
+     * timeout or when the buffer was closed.
+     */
+    public boolean awaitAfter(long afterId, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (head <= afterId && !closed) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = appended.awaitNanos(nanos);
+            }
+            return !closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long head() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Id of the newest change no longer held in the ring; every dispatched change above it is.
+     */
+    public long floor() {
+        lock.lock();
+        try {
+            return floor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int firstAfter(long afterId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ring[(start + mid) % ring.length].getId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.entity.DeviceChange;
+import com.example.deviceapi.entity.DeviceChangeHead;
+import com.example.deviceapi.repository.DeviceChangeHeadRepository;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Polls the outbox for committed changes and appends them to the {@link DeviceChangeBuffer}.
+ * <p>
+ * Outbox ids are taken at insert, so a long transaction can commit rows with ids below those
+ * already dispatched. Each poll therefore first numbers the committed rows that have no feed
+ * position yet, under the lock of the {@link DeviceChangeHead} row, and then dispatches by
+ * position. A row only gets a position once it is visible, and the next batch of positions only
+ * once the previous one has committed, so positions never skip a row that commits late.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceChangeDispatcher {
+
+    private final DeviceChangeRepository deviceChangeRepository;
+    private final DeviceChangeHeadRepository deviceChangeHeadRepository;
+    private final DeviceChangeBuffer deviceChangeBuffer;
+    private final DeviceProperties deviceProperties;
+    private final TransactionOperations transactionOperations;
+
+    private volatile boolean started;
+
+    /**
+     * Positions the buffer after the newest dispatched change, once. Called by the first poll and
+     * by the first subscriber rather than at bean creation, so that the context can be refreshed
+     * without a database (CDS training run), yet no subscriber sees the buffer before it is positioned.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        synchronized (this) {
+            if (!started) {
+                deviceChangeBuffer.reset(deviceChangeRepository.findMaxPosition().orElse(0L));
+                started = true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${device.changes.poll-interval:200ms}")
+    public void dispatch() {
+        start();
+        int batchSize = deviceProperties.getChanges().getBatchSize();
+        if (deviceChangeRepository.existsByPositionIsNull()) {
+            transactionOperations.executeWithoutResult(status -> assignPositions(batchSize));
+        }
+        List<DeviceChange> rows = deviceChangeRepository.findByPositionGreaterThanOrderByPositionAsc(
+                deviceChangeBuffer.head(), Limit.of(batchSize));
+        deviceChangeBuffer.append(rows.stream().map(DeviceChangeDispatcher::toMessage).toList());
+    }
+
+    private void assignPositions(int batchSize) {
+        DeviceChangeHead head = deviceChangeHeadRepository.lockHead()
+                .orElseThrow(() -> new IllegalStateException("Missing device_change_head row"));
+        long position = head.getLastPosition();
+        for (DeviceChange row : deviceChangeRepository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize))) {
+            row.setPosition(++position);
+        }
+        head.setLastPosition(position);
+    }
+
+    @Scheduled(fixedDelayString = "${device.changes.prune-interval:1h}")
+    public void prune() {
+        deviceChangeRepository.deleteCreatedBefore(LocalDateTime.now().minus(deviceProperties.getChanges().getRetention()));
+    }
+
+    static DeviceChangeMessage toMessage(DeviceChange change) {
+        return new DeviceChangeMessage(change.getPosition(), change.getType(), change.getDeviceId(),
+                change.getCreatedAt(), change.getPayload());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the change feed to one subscriber as Server-Sent Events. Every subscriber is a blocking
+ * loop over its own cursor: writes to a slow client simply block its thread, and if the client
+ * falls so far behind that the shared {@link DeviceChangeBuffer} has evicted its position, it
+ * continues from the outbox table one page at a time. Nothing is queued per subscriber.
+ */
+@Component
+public class DeviceChangeFeed {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final DeviceChangeBuffer deviceChangeBuffer;
+    private final DeviceChangeDispatcher deviceChangeDispatcher;
+    private final DeviceChangeRepository deviceChangeRepository;
+    private final DeviceProperties deviceProperties;
+    private final ObjectWriter writer;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter replays;
+
+    public DeviceChangeFeed(DeviceChangeBuffer deviceChangeBuffer, DeviceChangeDispatcher deviceChangeDispatcher,
+                            DeviceChangeRepository deviceChangeRepository, DeviceProperties deviceProperties,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.deviceChangeBuffer = deviceChangeBuffer;
+        this.deviceChangeDispatcher = deviceChangeDispatcher;
+        this.deviceChangeRepository = deviceChangeRepository;
+        this.deviceProperties = deviceProperties;
+        this.writer = objectMapper.writerFor(DeviceChangeMessage.class);
+        Gauge.builder("device.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+        this.replays = Counter.builder("device.changes.replays")
+                .description("Pages a subscriber had to read from the outbox because the buffer had moved past it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Streams changes after {@code lastEventId} (or, without one, changes from now on) until the
+     * client disconnects or the application shuts down.
+     */
+    public void stream(Long lastEventId, OutputStream out) throws IOException {
+        DeviceProperties.Changes properties = deviceProperties.getChanges();
+        int pageSize = properties.getBatchSize();
+        // Before the first poll the buffer head is still 0, which would replay the whole outbox
+        deviceChangeDispatcher.start();
+        long cursor = lastEventId != null ? lastEventId : deviceChangeBuffer.head();
+
+        subscribers.incrementAndGet();
+        try {
+            out.write(("retry: " + properties.getRetry().toMillis() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            while (!deviceChangeBuffer.isClosed()) {
+                List<DeviceChangeMessage> messages = deviceChangeBuffer.readAfter(cursor, pageSize);
+                if (messages == null) {
+                    messages = replay(cursor, pageSize);
+                    if (messages.isEmpty()) {
+                        // Nothing left in the outbox below the buffer, e.g. pruned
+                        cursor = deviceChangeBuffer.floor();
+                        continue;
+                    }
+                }
+                if (messages.isEmpty()) {
+                    if (!deviceChangeBuffer.awaitAfter(cursor, properties.getHeartbeat())) {
+                        out.write(HEARTBEAT);
+                        out.flush();
+                    }
+                    continue;
+                }
+                for (DeviceChangeMessage message : messages) {
+                    write(out, message);
+                    cursor = message.getId();
+                }
+                out.flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Change feed interrupted");
+        } finally {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    private List<DeviceChangeMessage> replay(long cursor, int pageSize) {
+        replays.increment();
+        return deviceChangeRepository.findByPositionGreaterThanAndPositionLessThanEqualOrderByPositionAsc(
+                        cursor, deviceChangeBuffer.floor(), Limit.of(pageSize))
+                .stream()
+                .map(DeviceChangeDispatcher::toMessage)
+                .toList();
+    }
+
+    private void write(OutputStream out, DeviceChangeMessage message) throws IOException {
+        out.write(("id: " + message.getId() + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+        out.write(writer.writeValueAsBytes(message));
+        out.write('\n');
+        out.write('\n');
+    }
+}
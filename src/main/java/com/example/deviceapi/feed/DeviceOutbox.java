@@ -0,0 +1,45 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.entity.DeviceChange;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.mapper.DeviceMapper;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes an outbox row for every device change. Unlike the cache and the inventory, which react
+ * after commit, this listener runs synchronously inside the writing transaction, so the change
+ * and its feed entry commit or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceOutbox {
+
+    private final DeviceChangeRepository deviceChangeRepository;
+    private final DeviceMapper deviceMapper;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        deviceChangeRepository.save(DeviceChange.builder()
+                .type(event.getType())
+                .deviceId(event.getDeviceId())
+                .payload(event.getAfter() != null ? toJson(event) : null)
+                .build());
+    }
+
+    private String toJson(DeviceChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(deviceMapper.toResponse(event.getAfter()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize device " + event.getDeviceId(), ex);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.deviceapi.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD). A request that finishes within the
+ * latency threshold while at least half the limit is in use raises the limit by one; a slow or
+ * failed request multiplies it by the backoff ratio. Only requests that started after the last
+ * decrease can trigger another one, so a single slow burst backs off once instead of collapsing
+ * the limit to its minimum.
+ */
+public class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long thresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+    private long increases;
+    private long decreases;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long thresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.thresholdNanos = thresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the current limit are in use.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = (int) (limit * share);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and feeds the request's outcome into the limit.
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param endNanos   {@link System#nanoTime()} when it finished
+     * @param dropped    whether it failed in a way that indicates overload
+     */
+    public void release(long startNanos, long endNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (dropped || endNanos - startNanos > thresholdNanos) {
+                if (startNanos > lastDecreaseNanos && limit > minLimit) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = endNanos;
+                    decreases++;
+                }
+            } else if (current * 2 >= limit && limit < maxLimit) {
+                limit = Math.min(maxLimit, limit + 1);
+                increases++;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot without a latency sample, for requests whose duration says nothing about
+     * load, such as long-running streams.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isSaturated() {
+        return inFlight.get() >= (int) limit;
+    }
+
+    public synchronized long getIncreases() {
+        return increases;
+    }
+
+    public synchronized long getDecreases() {
+        return decreases;
+    }
+}
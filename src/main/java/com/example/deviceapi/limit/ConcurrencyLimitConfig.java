@@ -0,0 +1,62 @@
+package com.example.deviceapi.limit;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "device.limits", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(DeviceProperties deviceProperties,
+                                                                          ObjectMapper objectMapper,
+                                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        DeviceProperties.Limits limits = deviceProperties.getLimits();
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        AdaptiveLimit reads = createLimit(limits.getReads(), limits.getBackoffRatio());
+        AdaptiveLimit writes = createLimit(limits.getWrites(), limits.getBackoffRatio());
+        AdaptiveLimit bulkWrites = createLimit(limits.getBulkWrites(), limits.getBackoffRatio());
+        bindMetrics(registry, "reads", reads);
+        bindMetrics(registry, "writes", writes);
+        bindMetrics(registry, "bulk_writes", bulkWrites);
+
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(reads, writes, bulkWrites, limits.getBulkShare(),
+                limits.getRetryAfter(), objectMapper, registry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/devices", "/api/devices/*");
+        return registration;
+    }
+
+    private static AdaptiveLimit createLimit(DeviceProperties.Limits.Limit limit, double backoffRatio) {
+        return new AdaptiveLimit(limit.getInitial(), limit.getMin(), limit.getMax(),
+                limit.getLatencyThreshold().toNanos(), backoffRatio);
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String name, AdaptiveLimit limit) {
+        Gauge.builder("device.limit.current", limit, AdaptiveLimit::getLimit)
+                .tag("limit", name)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("device.limit.inflight", limit, AdaptiveLimit::getInFlight)
+                .tag("limit", name)
+                .description("Requests currently holding a slot of the limit")
+                .register(registry);
+        FunctionCounter.builder("device.limit.changes", limit, AdaptiveLimit::getIncreases)
+                .tags("limit", name, "direction", "increase")
+                .description("Adjustments of the adaptive concurrency limit")
+                .register(registry);
+        FunctionCounter.builder("device.limit.changes", limit, AdaptiveLimit::getDecreases)
+                .tags("limit", name, "direction", "decrease")
+                .description("Adjustments of the adaptive concurrency limit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.deviceapi.limit;
+
+import com.example.deviceapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load on the device endpoints before it reaches the connection pool. Reads, writes and
+ * bulk writes have separate {@link AdaptiveLimit}s; a request over its limit gets an immediate 503
+ * with {@code Retry-After} instead of waiting for a connection. Bulk reads (list, search, export)
+ * may only use part of the read limit and are turned away while writes are saturated, so that
+ * writes and single lookups keep going when the database slows down. Bulk writes (batch create,
+ * transitions, filtered delete) take seconds by design, so they get their own small limit rather
+ * than teaching the write limit that writes are slow; they too yield to saturated writes.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum Traffic { WRITE, BULK_WRITE, READ, BULK_READ }
+
+    private static final String BASE_PATH = "/api/devices";
+    private static final Set<String> BULK_READ_PATHS = Set.of("", "/", "/search", "/export");
+    private static final Set<String> BULK_WRITE_POST_PATHS = Set.of("/batch", "/transitions");
+    private static final Set<String> COLLECTION_PATHS = Set.of("", "/");
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+
+    private final AdaptiveLimit reads;
+    private final AdaptiveLimit writes;
+    private final AdaptiveLimit bulkWrites;
+    private final double bulkShare;
+    private final String retryAfter;
+    private final ObjectMapper objectMapper;
+    private final Map<Traffic, Counter> rejections = new EnumMap<>(Traffic.class);
+
+    public ConcurrencyLimitFilter(AdaptiveLimit reads, AdaptiveLimit writes, AdaptiveLimit bulkWrites,
+                                  double bulkShare, Duration retryAfter, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.reads = reads;
+        this.writes = writes;
+        this.bulkWrites = bulkWrites;
+        this.bulkShare = bulkShare;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.objectMapper = objectMapper;
+        for (Traffic traffic : Traffic.values()) {
+            rejections.put(traffic, Counter.builder("device.limit.rejected")
+                    .tag("traffic", traffic.name().toLowerCase())
+                    .description("Requests turned away with 503 by the concurrency limiter")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The change feed holds its connection open for as long as the client listens
+        return "OPTIONS".equals(request.getMethod()) || pathOf(request).startsWith("/changes");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Traffic traffic = classify(request);
+        AdaptiveLimit limit = switch (traffic) {
+            case WRITE -> writes;
+            case BULK_WRITE -> bulkWrites;
+            case READ, BULK_READ -> reads;
+        };
+        if (!admit(traffic)) {
+            reject(response, traffic);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streams hold their slot until they finish, but their duration is no latency signal
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit));
+            } else {
+                limit.release(start, System.nanoTime(), dropped);
+            }
+        }
+    }
+
+    private boolean admit(Traffic traffic) {
+        return switch (traffic) {
+            case WRITE -> writes.tryAcquire(1.0);
+            case BULK_WRITE -> !writes.isSaturated() && bulkWrites.tryAcquire(1.0);
+            case READ -> reads.tryAcquire(1.0);
+            case BULK_READ -> !writes.isSaturated() && reads.tryAcquire(bulkShare);
+        };
+    }
+
+    private void reject(HttpServletResponse response, Traffic traffic) throws IOException {
+        rejections.get(traffic).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Too many concurrent requests, retry later",
+                LocalDateTime.now()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    static Traffic classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = pathOf(request);
+        if (READ_METHODS.contains(method)) {
+            return BULK_READ_PATHS.contains(path) ? Traffic.BULK_READ : Traffic.READ;
+        }
+        boolean bulk = "POST".equals(method) ? BULK_WRITE_POST_PATHS.contains(path)
+                : "DELETE".equals(method) && COLLECTION_PATHS.contains(path);
+        return bulk ? Traffic.BULK_WRITE : Traffic.WRITE;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(BASE_PATH) ? path.substring(BASE_PATH.length()) : path;
+    }
+
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdaptiveLimit limit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(AdaptiveLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.deviceapi.mapper;
 
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceResponse;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
 import org.mapstruct.*;
@@ -15,4 +16,6 @@ public interface DeviceMapper {
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateDeviceFromDTO(DeviceUpdateDto updateDto, @MappingTarget Device device);
+
+    DeviceResponse toResponse(Device device);
 }
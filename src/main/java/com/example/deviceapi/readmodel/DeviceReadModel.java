@@ -0,0 +1,169 @@
+package com.example.deviceapi.readmodel;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.repository.DeviceSpecifications;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory read model serving device list pages without a database round trip. It follows
+ * every committed write of this instance and is periodically rebuilt from the table; each rebuild
+ * counts the rows the old copy got wrong (writes by other instances or missed events) as drift
+ * before replacing it. Changes committed while a rebuild reads the table are replayed onto the
+ * new copy first.
+ */
+@Component
+public class DeviceReadModel {
+
+    private final DeviceRepository deviceRepository;
+    private final TransactionOperations transactionOperations;
+    private final DeviceProperties deviceProperties;
+    private final Counter drift;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private DeviceTable table = new DeviceTable();
+    private List<DeviceChangedEvent> pending;
+    private volatile boolean ready;
+
+    public DeviceReadModel(DeviceRepository deviceRepository, TransactionOperations transactionOperations,
+                           DeviceProperties deviceProperties, MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+        this.transactionOperations = transactionOperations;
+        this.deviceProperties = deviceProperties;
+        this.drift = Counter.builder("device.read-model.drift")
+                .description("Rows found out of date when the read model was verified against the table")
+                .register(meterRegistry);
+        Gauge.builder("device.read-model.size", this, DeviceReadModel::size)
+                .description("Devices held in the in-memory read model")
+                .register(meterRegistry);
+        Gauge.builder("device.read-model.bytes", this, DeviceReadModel::footprintBytes)
+                .description("Estimated heap used by the in-memory read model")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether list queries can be served from memory; {@code false} until the first rebuild
+     * finished or when the read model is disabled.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (!deviceProperties.getReadModel().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(table, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${device.read-model.verify-interval:15m}")
+    public void verify() {
+        if (!deviceProperties.getReadModel().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            DeviceTable fresh = new DeviceTable();
+            transactionOperations.executeWithoutResult(status -> {
+                try (Stream<Device> devices = deviceRepository.streamBy(
+                        DeviceSpecifications.matching(DeviceFilter.none()), deviceProperties.getExport().getFetchSize())) {
+                    devices.forEach(fresh::put);
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(event -> apply(fresh, event));
+                if (ready) {
+                    drift.increment(fresh.countDifferences(table));
+                }
+                table = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} devices matching {@code filter} with an id above
+     * {@code afterId}, in id order.
+     */
+    public List<DeviceResponse> page(DeviceFilter filter, long afterId, int limit, Set<DeviceField> fields) {
+        lock.readLock().lock();
+        try {
+            return table.page(filter, afterId, limit, fields);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return table.footprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(DeviceTable target, DeviceChangedEvent event) {
+        Device after = event.getAfter();
+        if (after == null) {
+            Long version = event.getBefore() != null ? event.getBefore().getVersion() : null;
+            target.remove(event.getDeviceId(), version != null ? version : 0);
+        } else {
+            target.put(after);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.deviceapi.readmodel;
+
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column-oriented copy of the device table. Not thread-safe; see {@link DeviceReadModel}.
+ * <p>
+ * Rows are kept in id order in parallel primitive arrays: brands are dictionary-encoded, states
+ * are stored as ordinals and timestamps as epoch microseconds. Deleted rows stay in place as
+ * tombstones with the version they were deleted at, which keeps every id lookup a binary search
+ * and keeps a late update event from bringing them back. The secondary indexes hold sorted ids
+ * per brand and per state; entries that no longer match their row after an update are filtered
+ * out when read. Tombstones and stale index entries disappear when the table is rebuilt.
+ */
+class DeviceTable {
+
+    private static final byte DELETED = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final DeviceState[] STATES = DeviceState.values();
+
+    private long[] ids = new long[1024];
+    private long[] versions = new long[1024];
+    private String[] names = new String[1024];
+    private int[] brands = new int[1024];
+    private byte[] states = new byte[1024];
+    private long[] creationTimes = new long[1024];
+    private long[] updateTimes = new long[1024];
+    private int rows;
+    private int live;
+
+    private final List<String> brandNames = new ArrayList<>();
+    private final Map<String, Integer> brandCodes = new HashMap<>();
+    private final Map<String, List<Integer>> brandCodesByLowerCase = new HashMap<>();
+    private final List<SortedIds> idsByBrand = new ArrayList<>();
+    private final SortedIds[] idsByState = new SortedIds[STATES.length];
+
+    DeviceTable() {
+        for (int i = 0; i < idsByState.length; i++) {
+            idsByState[i] = new SortedIds();
+        }
+    }
+
+    /**
+     * Inserts or replaces a device unless the stored row has a newer version, or was deleted at
+     * the same or a newer version.
+     */
+    void put(Device device) {
+        long id = device.getId();
+        long version = device.getVersion() != null ? device.getVersion() : 0;
+        int slot = Arrays.binarySearch(ids, 0, rows, id);
+        if (slot >= 0) {
+            if (states[slot] == DELETED ? versions[slot] >= version : versions[slot] > version) {
+                return;
+            }
+            if (states[slot] == DELETED) {
+                live++;
+            }
+        } else {
+            slot = insertRow(-slot - 1, id);
+            live++;
+        }
+
+        int brand = brandCode(device.getBrand());
+        byte state = (byte) device.getState().ordinal();
+        versions[slot] = version;
+        names[slot] = device.getName();
+        brands[slot] = brand;
+        states[slot] = state;
+        creationTimes[slot] = toMicros(device.getCreationTime());
+        updateTimes[slot] = toMicros(device.getUpdateTime());
+        idsByBrand.get(brand).add(id);
+        idsByState[state].add(id);
+    }
+
+    /**
+     * Tombstones a device deleted at {@code version}, also if its row has not arrived yet.
+     */
+    void remove(long id, long version) {
+        int slot = Arrays.binarySearch(ids, 0, rows, id);
+        if (slot < 0) {
+            slot = insertRow(-slot - 1, id);
+        } else if (states[slot] != DELETED) {
+            live--;
+        } else if (versions[slot] >= version) {
+            return;
+        }
+        states[slot] = DELETED;
+        versions[slot] = version;
+        names[slot] = null;
+    }
+
+    int size() {
+        return live;
+    }
+
+    /**
+     * Returns up to {@code limit} matching devices with an id above {@code afterId}, in id order.
+     */
+    List<DeviceResponse> page(DeviceFilter filter, long afterId, int limit, Set<DeviceField> fields) {
+        List<DeviceResponse> page = new ArrayList<>(Math.min(limit, 64));
+        Matcher matcher = new Matcher(filter);
+        for (SortedIds.Cursor candidates = candidates(filter, afterId); page.size() < limit && candidates.hasNext(); ) {
+            int slot = Arrays.binarySearch(ids, 0, rows, candidates.next());
+            if (slot >= 0 && matcher.matches(slot)) {
+                page.add(toResponse(slot, fields));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Counts rows that differ from {@code other}: present in only one of the tables, or present in
+     * both with different versions.
+     */
+    long countDifferences(DeviceTable other) {
+        long differences = 0;
+        int i = nextLive(0);
+        int j = other.nextLive(0);
+        while (i < rows || j < other.rows) {
+            long id = i < rows ? ids[i] : Long.MAX_VALUE;
+            long otherId = j < other.rows ? other.ids[j] : Long.MAX_VALUE;
+            if (id == otherId) {
+                if (versions[i] != other.versions[j]) {
+                    differences++;
+                }
+                i = nextLive(i + 1);
+                j = other.nextLive(j + 1);
+            } else if (id < otherId) {
+                differences++;
+                i = nextLive(i + 1);
+            } else {
+                differences++;
+                j = other.nextLive(j + 1);
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Estimated heap use: the columns and indexes at their current capacity plus the name strings
+     * (compact Latin-1 strings assumed).
+     */
+    long footprintBytes() {
+        long bytes = (long) ids.length * (8 + 8 + 4 + 4 + 1 + 8 + 8);
+        for (int slot = 0; slot < rows; slot++) {
+            if (names[slot] != null) {
+                bytes += 24 + 16 + names[slot].length();
+            }
+        }
+        for (SortedIds index : idsByBrand) {
+            bytes += index.capacityBytes();
+        }
+        for (SortedIds index : idsByState) {
+            bytes += index.capacityBytes();
+        }
+        for (String brand : brandNames) {
+            bytes += 2L * (24 + 16 + brand.length());
+        }
+        return bytes;
+    }
+
+    /**
+     * Picks the narrowest candidate ids for the filter: the requested ids, then the brand index,
+     * then the state index, and otherwise every row.
+     */
+    private SortedIds.Cursor candidates(DeviceFilter filter, long afterId) {
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            return SortedIds.of(filter.getIds()).cursorAfter(afterId);
+        }
+        if (filter.getBrand() != null && !filter.getBrand().isBlank()) {
+            List<SortedIds> indexes = brandCodesByLowerCase.getOrDefault(filter.getBrand().toLowerCase(Locale.ROOT), List.of())
+                    .stream().map(idsByBrand::get).toList();
+            return indexes.isEmpty() ? SortedIds.view(ids, 0).cursorAfter(afterId) : SortedIds.union(indexes, afterId);
+        }
+        if (filter.getState() != null && !filter.getState().isEmpty()) {
+            return SortedIds.union(EnumSet.copyOf(filter.getState()).stream().map(state -> idsByState[state.ordinal()]).toList(), afterId);
+        }
+        return SortedIds.view(ids, rows).cursorAfter(afterId);
+    }
+
+    private int nextLive(int slot) {
+        while (slot < rows && states[slot] == DELETED) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private int insertRow(int slot, long id) {
+        if (rows == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            names = Arrays.copyOf(names, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            states = Arrays.copyOf(states, capacity);
+            creationTimes = Arrays.copyOf(creationTimes, capacity);
+            updateTimes = Arrays.copyOf(updateTimes, capacity);
+        }
+        // Ids mostly arrive in ascending order, so this is usually an append
+        int tail = rows - slot;
+        if (tail > 0) {
+            System.arraycopy(ids, slot, ids, slot + 1, tail);
+            System.arraycopy(versions, slot, versions, slot + 1, tail);
+            System.arraycopy(names, slot, names, slot + 1, tail);
+            System.arraycopy(brands, slot, brands, slot + 1, tail);
+            System.arraycopy(states, slot, states, slot + 1, tail);
+            System.arraycopy(creationTimes, slot, creationTimes, slot + 1, tail);
+            System.arraycopy(updateTimes, slot, updateTimes, slot + 1, tail);
+        }
+        ids[slot] = id;
+        rows++;
+        return slot;
+    }
+
+    private int brandCode(String brand) {
+        Integer code = brandCodes.get(brand);
+        if (code == null) {
+            code = brandNames.size();
+            brandNames.add(brand);
+            brandCodes.put(brand, code);
+            brandCodesByLowerCase.computeIfAbsent(brand.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(code);
+            idsByBrand.add(new SortedIds());
+        }
+        return code;
+    }
+
+    private DeviceResponse toResponse(int slot, Set<DeviceField> fields) {
+        DeviceResponse.DeviceResponseBuilder response = DeviceResponse.builder();
+        for (DeviceField field : fields) {
+            switch (field) {
+                case ID -> response.id(ids[slot]);
+                case NAME -> response.name(names[slot]);
+                case BRAND -> response.brand(brandNames.get(brands[slot]));
+                case STATE -> response.state(STATES[states[slot]]);
+                case VERSION -> response.version(versions[slot]);
+                case CREATION_TIME -> response.creationTime(fromMicros(creationTimes[slot]));
+                case UPDATE_TIME -> response.updateTime(fromMicros(updateTimes[slot]));
+            }
+        }
+        return response.build();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Evaluates every filter criterion against a row, including the one that picked the
+     * candidates, since index entries may be stale.
+     */
+    private final class Matcher {
+
+        private final int[] brandCodes;
+        private final int stateMask;
+        private final String namePrefix;
+        private final long createdFrom;
+        private final long createdTo;
+        private final long updatedFrom;
+        private final long updatedTo;
+
+        Matcher(DeviceFilter filter) {
+            brandCodes = filter.getBrand() != null && !filter.getBrand().isBlank()
+                    ? brandCodesByLowerCase.getOrDefault(filter.getBrand().toLowerCase(Locale.ROOT), List.of())
+                            .stream().mapToInt(Integer::intValue).toArray()
+                    : null;
+            int mask = 0;
+            if (filter.getState() != null) {
+                for (DeviceState state : filter.getState()) {
+                    mask |= 1 << state.ordinal();
+                }
+            }
+            stateMask = mask;
+            namePrefix = filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty() ? filter.getNamePrefix() : null;
+            createdFrom = filter.getCreatedFrom() != null ? toMicros(filter.getCreatedFrom()) : Long.MIN_VALUE;
+            createdTo = filter.getCreatedTo() != null ? toMicros(filter.getCreatedTo()) : Long.MAX_VALUE;
+            updatedFrom = filter.getUpdatedFrom() != null ? toMicros(filter.getUpdatedFrom()) : Long.MIN_VALUE;
+            updatedTo = filter.getUpdatedTo() != null ? toMicros(filter.getUpdatedTo()) : Long.MAX_VALUE;
+        }
+
+        boolean matches(int slot) {
+            if (states[slot] == DELETED) {
+                return false;
+            }
+            if (brandCodes != null && Arrays.stream(brandCodes).noneMatch(code -> code == brands[slot])) {
+                return false;
+            }
+            if (stateMask != 0 && (stateMask & (1 << states[slot])) == 0) {
+                return false;
+            }
+            if (namePrefix != null && !names[slot].regionMatches(true, 0, namePrefix, 0, namePrefix.length())) {
+                return false;
+            }
+            return inRange(creationTimes[slot], createdFrom, createdTo)
+                    && inRange(updateTimes[slot], updatedFrom, updatedTo);
+        }
+
+        private static boolean inRange(long value, long from, long to) {
+            if (from == Long.MIN_VALUE && to == Long.MAX_VALUE) {
+                return true;
+            }
+            return value != NO_TIME && value >= from && value < to;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.deviceapi.readmodel;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Growable sorted set of device ids backed by a primitive array.
+ */
+class SortedIds {
+
+    private long[] values;
+    private int size;
+
+    SortedIds() {
+        this(new long[8], 0);
+    }
+
+    private SortedIds(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    static SortedIds of(Collection<Long> ids) {
+        long[] values = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        return new SortedIds(values, values.length);
+    }
+
+    /**
+     * Wraps the first {@code size} elements of an already sorted array without copying it.
+     */
+    static SortedIds view(long[] values, int size) {
+        return new SortedIds(values, size);
+    }
+
+    /**
+     * Iterates the distinct ids of all sets above {@code afterId} in ascending order.
+     */
+    static Cursor union(List<SortedIds> sets, long afterId) {
+        if (sets.size() == 1) {
+            return sets.getFirst().cursorAfter(afterId);
+        }
+        Cursor[] cursors = sets.stream().map(set -> set.cursorAfter(afterId)).toArray(Cursor[]::new);
+        return new Cursor() {
+            @Override
+            public boolean hasNext() {
+                for (Cursor cursor : cursors) {
+                    if (cursor.hasNext()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public long next() {
+                long min = peek();
+                for (Cursor cursor : cursors) {
+                    if (cursor.hasNext() && cursor.peek() == min) {
+                        cursor.next();
+                    }
+                }
+                return min;
+            }
+
+            @Override
+            public long peek() {
+                long min = Long.MAX_VALUE;
+                for (Cursor cursor : cursors) {
+                    if (cursor.hasNext()) {
+                        min = Math.min(min, cursor.peek());
+                    }
+                }
+                return min;
+            }
+        };
+    }
+
+    /**
+     * Adds an id; appending a new largest id, the usual case, is constant time.
+     */
+    void add(long id) {
+        if (size > 0 && values[size - 1] >= id) {
+            int slot = Arrays.binarySearch(values, 0, size, id);
+            if (slot >= 0) {
+                return;
+            }
+            grow();
+            slot = -slot - 1;
+            System.arraycopy(values, slot, values, slot + 1, size - slot);
+            values[slot] = id;
+        } else {
+            grow();
+            values[size] = id;
+        }
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long capacityBytes() {
+        return 16 + 8L * values.length;
+    }
+
+    Cursor cursorAfter(long afterId) {
+        int slot = Arrays.binarySearch(values, 0, size, afterId);
+        int start = slot >= 0 ? slot + 1 : -slot - 1;
+        return new Cursor() {
+            private int position = start;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public long next() {
+                return values[position++];
+            }
+
+            @Override
+            public long peek() {
+                return values[position];
+            }
+        };
+    }
+
+    private void grow() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+
+    interface Cursor {
+
+        boolean hasNext();
+
+        long next();
+
+        long peek();
+    }
+}
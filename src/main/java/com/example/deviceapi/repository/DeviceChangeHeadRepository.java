@@ -0,0 +1,19 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.DeviceChangeHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface DeviceChangeHeadRepository extends JpaRepository<DeviceChangeHead, Integer> {
+
+    /**
+     * Reads the head row and locks it until the current transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM DeviceChangeHead h WHERE h.id = " + DeviceChangeHead.ID)
+    Optional<DeviceChangeHead> lockHead();
+}
@@ -0,0 +1,34 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.DeviceChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeviceChangeRepository extends JpaRepository<DeviceChange, Long> {
+
+    boolean existsByPositionIsNull();
+
+    List<DeviceChange> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    List<DeviceChange> findByPositionGreaterThanOrderByPositionAsc(Long afterPosition, Limit limit);
+
+    List<DeviceChange> findByPositionGreaterThanAndPositionLessThanEqualOrderByPositionAsc(Long afterPosition,
+                                                                                          Long upToPosition,
+                                                                                          Limit limit);
+
+    @Query("SELECT MAX(c.position) FROM DeviceChange c")
+    Optional<Long> findMaxPosition();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DeviceChange c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
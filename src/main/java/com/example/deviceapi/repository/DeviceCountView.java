@@ -0,0 +1,15 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.DeviceState;
+
+/**
+ * One row of the brand/state inventory aggregate.
+ */
+public interface DeviceCountView {
+
+    String getBrand();
+
+    DeviceState getState();
+
+    long getCount();
+}
@@ -3,12 +3,18 @@ package com.example.deviceapi.repository;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface DeviceRepository extends JpaRepository<Device, Long> {
+public interface DeviceRepository extends JpaRepository<Device, Long>, JpaSpecificationExecutor<Device>,
+        DeviceRepositoryCustom {
 
     List<Device> findByBrandIgnoreCase(String brand);
 
@@ -16,4 +22,60 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
 
     @Query("SELECT d FROM Device d WHERE LOWER(d.brand) = LOWER(:brand) AND d.state = :state")
     List<Device> findByBrandAndState(@Param("brand") String brand, @Param("state") DeviceState state);
+
+    Optional<DeviceStatusView> findStatusById(Long id);
+
+    @Query("SELECT d.version FROM Device d WHERE d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT d.brand AS brand, d.state AS state, COUNT(d) AS count FROM Device d GROUP BY d.brand, d.state")
+    List<DeviceCountView> countByBrandAndState();
+
+    /**
+     * Applies a full update only if the row still has {@code version} and is not in use.
+     * Returns the number of affected rows, i.e. 0 when the row is missing, in use or stale.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Device d
+               SET d.name = :name, d.brand = :brand, d.state = :state,
+                   d.version = d.version + 1, d.updateTime = :updateTime
+             WHERE d.id = :id
+               AND d.version = :version
+               AND d.state <> com.example.deviceapi.entity.DeviceState.IN_USE
+            """)
+    int updateIfUnchanged(@Param("id") Long id,
+                          @Param("version") Long version,
+                          @Param("name") String name,
+                          @Param("brand") String brand,
+                          @Param("state") DeviceState state,
+                          @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Moves the given devices to {@code state} in one statement, skipping devices that are in use
+     * or already in that state. Returns the number of devices changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Device d
+               SET d.state = :state, d.version = d.version + 1, d.updateTime = :updateTime
+             WHERE d.id IN :ids
+               AND d.state <> com.example.deviceapi.entity.DeviceState.IN_USE
+               AND d.state <> :state
+            """)
+    int transitionState(@Param("ids") Collection<Long> ids,
+                        @Param("state") DeviceState state,
+                        @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Deletes the given devices in one statement, skipping devices that are in use. Returns the
+     * number of devices deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            DELETE FROM Device d
+             WHERE d.id IN :ids
+               AND d.state <> com.example.deviceapi.entity.DeviceState.IN_USE
+            """)
+    int deleteNotInUse(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,49 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.entity.Device;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface DeviceRepositoryCustom {
+
+    /**
+     * Streams matching devices ordered by id through a server-side cursor. Each device is
+     * detached from the persistence context as soon as it is read, so memory stays flat no
+     * matter how many rows are consumed. Must be called inside a transaction and the stream
+     * must be closed by the caller.
+     */
+    Stream<Device> streamBy(Specification<Device> spec, int fetchSize);
+
+    /**
+     * Persists the devices in JDBC batches of {@code batchSize}, flushing and clearing the
+     * persistence context after every batch. Must be called inside a transaction.
+     */
+    List<Device> saveAllInBatches(List<Device> devices, int batchSize);
+
+    /**
+     * Selects only the given columns of the devices after {@code position} in {@code sort} order,
+     * as tuples aliased by {@link DeviceField#getValue()}. No entities are instantiated.
+     */
+    List<Tuple> findProjected(Specification<Device> spec, Set<DeviceField> columns, DeviceSort sort,
+                              KeysetScrollPosition position, int limit);
+
+    /**
+     * Selects only the given columns of one device, as a tuple aliased by {@link DeviceField#getValue()}.
+     */
+    Optional<Tuple> findProjectedById(Long id, Set<DeviceField> columns);
+
+    /**
+     * Loads and write-locks ({@code SELECT ... FOR UPDATE}) up to {@code limit} matching devices
+     * with an id greater than {@code afterId} (or from the start when {@code null}), in id order.
+     * Must be called inside a transaction; the locks are held until it ends.
+     */
+    List<Device> lockChunk(Specification<Device> spec, Long afterId, int limit);
+}
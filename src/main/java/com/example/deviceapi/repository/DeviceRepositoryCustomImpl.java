@@ -0,0 +1,155 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.entity.Device;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Device> streamBy(Specification<Device> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Device> query = cb.createQuery(Device.class);
+        Root<Device> root = query.from(Device.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    @Override
+    public List<Device> saveAllInBatches(List<Device> devices, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            for (int i = 0; i < devices.size(); i++) {
+                entityManager.persist(devices.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+        return devices;
+    }
+
+    @Override
+    public List<Tuple> findProjected(Specification<Device> spec, Set<DeviceField> columns, DeviceSort sort,
+                                     KeysetScrollPosition position, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Device> root = query.from(Device.class);
+        query.multiselect(select(root, columns));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        Map<String, Object> keys = position.getKeys();
+        if (!keys.isEmpty()) {
+            Path<Long> id = root.get("id");
+            Long lastId = (Long) keys.get("id");
+            predicates.add(switch (sort) {
+                case ID -> cb.greaterThan(id, lastId);
+                case CREATION_TIME -> {
+                    Path<LocalDateTime> creationTime = root.get("creationTime");
+                    LocalDateTime lastCreationTime = (LocalDateTime) keys.get("creationTime");
+                    yield cb.or(cb.greaterThan(creationTime, lastCreationTime),
+                            cb.and(cb.equal(creationTime, lastCreationTime), cb.greaterThan(id, lastId)));
+                }
+            });
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(switch (sort) {
+            case ID -> List.of(cb.asc(root.get("id")));
+            case CREATION_TIME -> List.of(cb.asc(root.get("creationTime")), cb.asc(root.get("id")));
+        });
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<DeviceField> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Device> root = query.from(Device.class);
+        query.multiselect(select(root, columns)).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Device> lockChunk(Specification<Device> spec, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Device> query = cb.createQuery(Device.class);
+        Root<Device> root = query.from(Device.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Selection<?>> select(Root<Device> root, Set<DeviceField> columns) {
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (DeviceField column : columns) {
+            selections.add(root.get(column.getValue()).alias(column.getValue()));
+        }
+        return selections;
+    }
+}
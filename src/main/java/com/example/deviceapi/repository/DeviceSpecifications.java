@@ -0,0 +1,87 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public final class DeviceSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private DeviceSpecifications() {
+    }
+
+    public static Specification<Device> brandEqualsIgnoreCase(String brand) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("brand")), brand.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Device> stateIn(Collection<DeviceState> states) {
+        return (root, query, cb) -> states.size() == 1
+                ? cb.equal(root.get("state"), states.iterator().next())
+                : root.get("state").in(states);
+    }
+
+    public static Specification<Device> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Device> nameStartsWithIgnoreCase(String prefix) {
+        String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Device> nameOrBrandContainsIgnoreCase(String text) {
+        String pattern = "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("brand")), pattern, LIKE_ESCAPE));
+    }
+
+    public static Specification<Device> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.get(attribute), from),
+                        cb.lessThan(root.get(attribute), to));
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(root.get(attribute), from)
+                    : cb.lessThan(root.get(attribute), to);
+        };
+    }
+
+    public static Specification<Device> matching(DeviceFilter filter) {
+        List<Specification<Device>> specs = new ArrayList<>();
+        if (filter.getBrand() != null && !filter.getBrand().isBlank()) {
+            specs.add(brandEqualsIgnoreCase(filter.getBrand()));
+        }
+        if (filter.getState() != null && !filter.getState().isEmpty()) {
+            specs.add(stateIn(filter.getState()));
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            specs.add(idIn(filter.getIds()));
+        }
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty()) {
+            specs.add(nameStartsWithIgnoreCase(filter.getNamePrefix()));
+        }
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null) {
+            specs.add(between("creationTime", filter.getCreatedFrom(), filter.getCreatedTo()));
+        }
+        if (filter.getUpdatedFrom() != null || filter.getUpdatedTo() != null) {
+            specs.add(between("updateTime", filter.getUpdatedFrom(), filter.getUpdatedTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.DeviceState;
+
+/**
+ * Closed projection used to explain why a conditional write did not apply without loading the
+ * whole row.
+ */
+public interface DeviceStatusView {
+
+    Long getId();
+
+    Long getVersion();
+
+    DeviceState getState();
+}
@@ -0,0 +1,145 @@
+package com.example.deviceapi.search;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.repository.DeviceSpecifications;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index for searching devices by name and brand. Like the inventory counters,
+ * it follows every committed write and is periodically rebuilt from the table, which also picks
+ * up rows written by other instances. Changes committed while a rebuild reads the table are
+ * replayed onto the new index before it replaces the old one.
+ */
+@Component
+public class DeviceSearchIndex {
+
+    private final DeviceRepository deviceRepository;
+    private final TransactionOperations transactionOperations;
+    private final DeviceProperties deviceProperties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TrigramIndex index = new TrigramIndex();
+    private List<DeviceChangedEvent> pending;
+    private volatile boolean ready;
+
+    public DeviceSearchIndex(DeviceRepository deviceRepository, TransactionOperations transactionOperations,
+                             DeviceProperties deviceProperties, MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+        this.transactionOperations = transactionOperations;
+        this.deviceProperties = deviceProperties;
+        Gauge.builder("device.search.indexed", this, DeviceSearchIndex::size)
+                .description("Devices held in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether searches can be served from memory; {@code false} until the first rebuild finished
+     * or when the index is disabled.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (!deviceProperties.getSearch().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${device.search.rebuild-interval:1h}")
+    public void rebuild() {
+        if (!deviceProperties.getSearch().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            TrigramIndex fresh = new TrigramIndex();
+            transactionOperations.executeWithoutResult(status -> {
+                try (Stream<Device> devices = deviceRepository.streamBy(
+                        DeviceSpecifications.matching(DeviceFilter.none()), deviceProperties.getExport().getFetchSize())) {
+                    devices.forEach(device -> fresh.put(device.getId(), device.getVersion(), device.getName(), device.getBrand()));
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(event -> apply(fresh, event));
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the best {@code limit} devices whose name or brand matches {@code query},
+     * best first.
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return index.search(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(TrigramIndex target, DeviceChangedEvent event) {
+        Device after = event.getAfter();
+        if (after == null) {
+            target.remove(event.getDeviceId());
+        } else {
+            target.put(after.getId(), after.getVersion(), after.getName(), after.getBrand());
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.deviceapi.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over lower-cased device names and brands. Not thread-safe; see
+ * {@link DeviceSearchIndex}.
+ * <p>
+ * Every device occupies a slot, and each trigram maps to the ascending list of slots whose name or
+ * brand contains it. Word starts are additionally indexed as padded grams ({@code "\0\0a"},
+ * {@code "\0ab"}) so one- and two-character queries can match word prefixes. A changed device
+ * gets a new slot and its old one becomes a tombstone; tombstones are only dropped by rebuilding.
+ */
+class TrigramIndex {
+
+    private static final char PAD = '\0';
+
+    private long[] ids = new long[1024];
+    private long[] versions = new long[1024];
+    private String[] names = new String[1024];
+    private String[] brands = new String[1024];
+    private int[] nameLengths = new int[1024];
+    private int slots;
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, String> brandPool = new HashMap<>();
+
+    /**
+     * Adds or replaces a device unless the indexed entry has a newer version.
+     */
+    void put(long id, long version, String name, String brand) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        String lowerBrand = brandPool.computeIfAbsent(brand.toLowerCase(Locale.ROOT), key -> key);
+
+        Integer existing = slotById.get(id);
+        if (existing != null) {
+            if (versions[existing] > version) {
+                return;
+            }
+            if (names[existing].equals(lowerName) && brands[existing].equals(lowerBrand)) {
+                versions[existing] = version;
+                return;
+            }
+            ids[existing] = 0;
+        }
+
+        int slot = allocate();
+        ids[slot] = id;
+        versions[slot] = version;
+        names[slot] = lowerName;
+        brands[slot] = lowerBrand;
+        nameLengths[slot] = lowerName.length();
+        Set<String> grams = new HashSet<>();
+        addGrams(lowerName, grams);
+        addGrams(lowerBrand, grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+        slotById.put(id, slot);
+    }
+
+    void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            ids[slot] = 0;
+        }
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} best matches, best first. {@code query} must already
+     * be lower-cased and stripped.
+     */
+    List<Long> search(String query, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        TopHits best = new TopHits(limit);
+        Postings rarest = lists.getFirst();
+        int[] cursors = new int[lists.size()];
+        for (int i = 0; i < rarest.size(); i++) {
+            int slot = rarest.get(i);
+            // Skip without touching the strings when even the best possible rank (an exact match
+            // needs equal lengths, otherwise a prefix) could not beat the current worst hit
+            int bestRank = nameLengths[slot] == query.length() ? 0 : 1;
+            if (ids[slot] == 0 || !best.admits(bestRank, nameLengths[slot], ids[slot]) || !inAll(lists, cursors, slot)) {
+                continue;
+            }
+            int rank = rank(query, names[slot], brands[slot]);
+            if (rank >= 0) {
+                best.offer(rank, nameLengths[slot], ids[slot]);
+            }
+        }
+        return best.ids();
+    }
+
+    /**
+     * Lower is better: exact name, name prefix, name word prefix, name substring, then the same
+     * for the brand. Substrings only count from three characters on, like the trigrams.
+     * Returns -1 when the device does not match.
+     */
+    static int rank(String query, String name, String brand) {
+        int nameRank = fieldRank(query, name);
+        if (nameRank >= 0) {
+            return nameRank;
+        }
+        int brandRank = fieldRank(query, brand);
+        return brandRank >= 0 ? 4 + brandRank : -1;
+    }
+
+    private static int fieldRank(String query, String value) {
+        if (value.equals(query)) {
+            return 0;
+        }
+        if (value.startsWith(query)) {
+            return 1;
+        }
+        int index = value.indexOf(query);
+        while (index > 0) {
+            if (!Character.isLetterOrDigit(value.charAt(index - 1))) {
+                return 2;
+            }
+            index = value.indexOf(query, index + 1);
+        }
+        return query.length() >= 3 && value.contains(query) ? 3 : -1;
+    }
+
+    private static Set<String> queryGrams(String query) {
+        Set<String> grams = new HashSet<>();
+        if (query.length() >= 3) {
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                grams.add(query.substring(i, i + 3));
+            }
+        } else if (query.length() == 2) {
+            grams.add(PAD + query);
+        } else {
+            grams.add("" + PAD + PAD + query);
+        }
+        return grams;
+    }
+
+    private static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 3));
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isLetterOrDigit(value.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(value.charAt(i - 1)))) {
+                grams.add("" + PAD + PAD + value.charAt(i));
+                if (i + 1 < value.length()) {
+                    grams.add(PAD + value.substring(i, i + 2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge-style intersection: candidates arrive in ascending slot order, so each other list is
+     * only ever walked forward from its cursor.
+     */
+    private static boolean inAll(List<Postings> lists, int[] cursors, int slot) {
+        for (int i = 1; i < lists.size(); i++) {
+            cursors[i] = lists.get(i).advanceTo(cursors[i], slot);
+            if (cursors[i] == lists.get(i).size() || lists.get(i).get(cursors[i]) != slot) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int allocate() {
+        if (slots == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            names = Arrays.copyOf(names, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+        }
+        return slots++;
+    }
+
+    /**
+     * Ascending slot numbers; slots are allocated in increasing order, so appending keeps it sorted.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int get(int index) {
+            return slots[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Returns the first index at or after {@code from} whose slot is not below {@code slot},
+         * galloping ahead before the binary search.
+         */
+        int advanceTo(int from, int slot) {
+            int step = 1;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(slots, from, Math.min(high + 1, size), slot);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * The best {@code limit} hits seen so far, kept sorted best first. Hits are ordered by rank,
+     * then name length (packed into one int), then id; most candidates of a broad query are
+     * rejected by a single comparison with the current worst entry.
+     */
+    private static final class TopHits {
+
+        private final int[] keys;
+        private final long[] hitIds;
+        private int size;
+
+        TopHits(int limit) {
+            keys = new int[limit];
+            hitIds = new long[limit];
+        }
+
+        boolean admits(int rank, int length, long id) {
+            return size < keys.length || better(key(rank, length), id, keys[size - 1], hitIds[size - 1]);
+        }
+
+        void offer(int rank, int length, long id) {
+            if (!admits(rank, length, id)) {
+                return;
+            }
+            int key = key(rank, length);
+            int index = size == keys.length ? size - 1 : size++;
+            while (index > 0 && better(key, id, keys[index - 1], hitIds[index - 1])) {
+                keys[index] = keys[index - 1];
+                hitIds[index] = hitIds[index - 1];
+                index--;
+            }
+            keys[index] = key;
+            hitIds[index] = id;
+        }
+
+        List<Long> ids() {
+            List<Long> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(hitIds[i]);
+            }
+            return result;
+        }
+
+        private static int key(int rank, int length) {
+            return (rank << 16) | Math.min(length, 0xFFFF);
+        }
+
+        private static boolean better(int key, long id, int otherKey, long otherId) {
+            return key < otherKey || (key == otherKey && id < otherId);
+        }
+    }
+}
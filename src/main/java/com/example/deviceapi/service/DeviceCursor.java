@@ -0,0 +1,79 @@
+package com.example.deviceapi.service;
+
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.entity.Device;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursors. A cursor carries the sort it was
+ * produced for, so it cannot be replayed against a different ordering.
+ */
+public final class DeviceCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private DeviceCursor() {
+    }
+
+    public static String encode(DeviceSort sort, Device last) {
+        return encode(sort, last.getId(), last.getCreationTime());
+    }
+
+    public static String encode(DeviceSort sort, Long lastId, LocalDateTime lastCreationTime) {
+        String raw = switch (sort) {
+            case ID -> sort.getValue() + SEPARATOR + lastId;
+            case CREATION_TIME -> sort.getValue() + SEPARATOR + lastCreationTime + SEPARATOR + lastId;
+        };
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(DeviceSort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException ex) {
+            throw invalid(cursor);
+        }
+        if (!sort.getValue().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + sort.getValue());
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            switch (sort) {
+                case ID -> {
+                    if (parts.length != 2) {
+                        throw invalid(cursor);
+                    }
+                    keys.put("id", Long.parseLong(parts[1]));
+                }
+                case CREATION_TIME -> {
+                    if (parts.length != 3) {
+                        throw invalid(cursor);
+                    }
+                    keys.put("creationTime", LocalDateTime.parse(parts[1]));
+                    keys.put("id", Long.parseLong(parts[2]));
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw invalid(cursor);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static IllegalArgumentException invalid(String cursor) {
+        return new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
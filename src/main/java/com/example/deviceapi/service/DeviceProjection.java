@@ -0,0 +1,68 @@
+package com.example.deviceapi.service;
+
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Builds sparse {@link DeviceResponse}s from projection tuples (aliased by
+ * {@link DeviceField#getValue()}) or from cached devices.
+ */
+public final class DeviceProjection {
+
+    private DeviceProjection() {
+    }
+
+    /**
+     * Columns to select for a page: the requested fields plus whatever the keyset cursor of the
+     * given sort is built from.
+     */
+    public static Set<DeviceField> columns(Set<DeviceField> fields, DeviceSort sort) {
+        Set<DeviceField> columns = EnumSet.copyOf(fields);
+        columns.add(DeviceField.ID);
+        if (sort == DeviceSort.CREATION_TIME) {
+            columns.add(DeviceField.CREATION_TIME);
+        }
+        return columns;
+    }
+
+    public static DeviceResponse fromTuple(Tuple tuple, Set<DeviceField> fields) {
+        DeviceResponse.DeviceResponseBuilder response = DeviceResponse.builder();
+        for (DeviceField field : fields) {
+            Object value = tuple.get(field.getValue());
+            switch (field) {
+                case ID -> response.id((Long) value);
+                case NAME -> response.name((String) value);
+                case BRAND -> response.brand((String) value);
+                case STATE -> response.state((DeviceState) value);
+                case VERSION -> response.version((Long) value);
+                case CREATION_TIME -> response.creationTime((LocalDateTime) value);
+                case UPDATE_TIME -> response.updateTime((LocalDateTime) value);
+            }
+        }
+        return response.build();
+    }
+
+    public static DeviceResponse fromDevice(Device device, Set<DeviceField> fields) {
+        DeviceResponse.DeviceResponseBuilder response = DeviceResponse.builder();
+        for (DeviceField field : fields) {
+            switch (field) {
+                case ID -> response.id(device.getId());
+                case NAME -> response.name(device.getName());
+                case BRAND -> response.brand(device.getBrand());
+                case STATE -> response.state(device.getState());
+                case VERSION -> response.version(device.getVersion());
+                case CREATION_TIME -> response.creationTime(device.getCreationTime());
+                case UPDATE_TIME -> response.updateTime(device.getUpdateTime());
+            }
+        }
+        return response.build();
+    }
+}
@@ -1,21 +1,54 @@
 package com.example.deviceapi.service;
 
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSearchResult;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.dto.DeviceTransitionResult;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface DeviceService {
     Device createDevice(DeviceCreateDto createDto);
 
-    Device updateDevice(Long id, DeviceUpdateDto updateDto);
+    List<Device> createDevices(List<DeviceCreateDto> createDtos);
+
+    /**
+     * Applies the update with a single conditional statement. When {@code expectedVersion} is
+     * given the update only succeeds if the device is still at that version.
+     */
+    Device updateDevice(Long id, DeviceUpdateDto updateDto, Long expectedVersion);
 
     @Transactional(readOnly = true)
     Device getDeviceById(Long id);
 
+    /**
+     * Returns only the requested fields of a device. Served from the cache when possible,
+     * otherwise through a projection query that selects just those columns.
+     */
+    @Transactional(readOnly = true)
+    DeviceResponse getDeviceById(Long id, Set<DeviceField> fields);
+
+    /**
+     * Returns the current version of a device without loading the full row, or empty if the
+     * device does not exist.
+     */
+    @Transactional(readOnly = true)
+    Optional<Long> getDeviceVersion(Long id);
+
     @Transactional(readOnly = true)
     List<Device> getAllDevices();
 
@@ -25,5 +58,53 @@ public interface DeviceService {
     @Transactional(readOnly = true)
     List<Device> getDevicesByState(DeviceState state);
 
+    /**
+     * Returns one keyset page with only the requested fields, selected through a projection
+     * query without instantiating entities.
+     */
+    @Transactional(readOnly = true)
+    DevicePage<DeviceResponse> getDevices(DeviceFilter filter, DeviceSort sort, String cursor, Integer limit,
+                                          Set<DeviceField> fields);
+
+    /**
+     * Finds devices whose name or brand starts with or contains {@code query} (case-insensitive),
+     * best match first and at most {@code limit} of them.
+     */
+    @Transactional(readOnly = true)
+    DeviceSearchResult searchDevices(String query, Integer limit, Set<DeviceField> fields);
+
+    @Transactional(readOnly = true)
+    long exportDevices(DeviceFilter filter, Consumer<Device> sink);
+
     void deleteDevice(Long id);
+
+    /**
+     * Rejects filters that bulk operations may not run with: filters without any criterion, which
+     * would match the whole table, and id lists longer than the batch limit.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    void validateBulkFilter(DeviceFilter filter);
+
+    /**
+     * Deletes every device matching the filter with set-based DELETEs, one committed transaction
+     * per chunk. Running totals are passed to {@code progress} after each chunk and the final
+     * totals are returned; devices in use are counted as rejected.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    DeviceDeletionProgress deleteDevices(DeviceFilter filter, Consumer<DeviceDeletionProgress> progress);
+
+    /**
+     * Moves every device matching the filter to {@code targetState} with set-based UPDATEs, one
+     * committed transaction per chunk. Devices in use are counted as rejected, devices already
+     * in the target state as unchanged.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    DeviceTransitionResult transitionDevices(DeviceFilter filter, DeviceState targetState);
+
+    /**
+     * Returns device counts by state and by brand and state from in-memory counters, without
+     * querying the database.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    DeviceStats getDeviceStats();
 }
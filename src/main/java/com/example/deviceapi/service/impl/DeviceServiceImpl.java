@@ -1,51 +1,192 @@
 package com.example.deviceapi.service.impl;
 
+import com.example.deviceapi.cache.DeviceCache;
+import com.example.deviceapi.config.DeviceProperties;
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSearchResult;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.dto.DeviceTransitionResult;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
 import com.example.deviceapi.exception.DeviceNotFoundException;
 import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
 import com.example.deviceapi.mapper.DeviceMapper;
 import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.repository.DeviceSpecifications;
+import com.example.deviceapi.repository.DeviceStatusView;
+import com.example.deviceapi.service.DeviceCursor;
+import com.example.deviceapi.service.DeviceProjection;
 import com.example.deviceapi.service.DeviceService;
+import com.example.deviceapi.readmodel.DeviceReadModel;
+import com.example.deviceapi.search.DeviceSearchIndex;
+import com.example.deviceapi.stats.DeviceInventory;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "device.service", description = "DeviceService operations")
 public class DeviceServiceImpl implements DeviceService {
 
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_SEARCH_LENGTH = 100;
+
     private final DeviceRepository deviceRepository;
     private final DeviceMapper deviceMapper;
+    private final DeviceProperties deviceProperties;
+    private final DeviceCache deviceCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeviceInventory deviceInventory;
+    private final TransactionOperations transactionOperations;
+    private final DeviceSearchIndex deviceSearchIndex;
+    private final DeviceReadModel deviceReadModel;
+    private final GroupCommitter groupCommitter;
 
+    /**
+     * Runs outside a transaction so that, in group-commit mode, a caller waiting for its batch
+     * does not hold a connection.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public Device createDevice(DeviceCreateDto createDto) {
+        if (groupCommitter.isEnabled()) {
+            // The insert is flushed with the rest of the batch at commit
+            return groupCommitter.submit(() -> insert(createDto));
+        }
+        return transactionOperations.execute(status -> {
+            Device saved = insert(createDto);
+            deviceRepository.flush();
+            return saved;
+        });
+    }
+
+    private Device insert(DeviceCreateDto createDto) {
         Device device = deviceMapper.createDtoToDevice(createDto);
-        return deviceRepository.save(device);
+        Device saved = deviceRepository.save(device);
+        publish(DeviceChangeType.CREATED, null, saved);
+        return saved;
     }
 
     @Override
-    public Device updateDevice(Long id, DeviceUpdateDto updateDto) {
-        Device device = getDeviceById(id);
-
-        if (device.getState() == DeviceState.IN_USE) {
+    public List<Device> createDevices(List<DeviceCreateDto> createDtos) {
+        DeviceProperties.Batch batch = deviceProperties.getBatch();
+        if (createDtos.size() > batch.getMaxItems()) {
             throw new DeviceValidationException(
-                    "Cannot update name or brand of a device that is in use");
+                    "A batch may contain at most " + batch.getMaxItems() + " devices");
+        }
+
+        List<Device> devices = createDtos.stream()
+                .map(deviceMapper::createDtoToDevice)
+                .toList();
+        List<Device> saved = deviceRepository.saveAllInBatches(devices, batch.getSize());
+        saved.forEach(device -> publish(DeviceChangeType.CREATED, null, device));
+        return saved;
+    }
+
+    @Override
+    public Device updateDevice(Long id, DeviceUpdateDto updateDto, Long expectedVersion) {
+        // Fast path: the conditional UPDATE re-checks version and state in the database, so a
+        // stale cached snapshot can only cost one statement that matches nothing.
+        Optional<Device> cached = deviceCache.get(id);
+        if (cached.isPresent() && cached.get().getState() != DeviceState.IN_USE
+                && (expectedVersion == null || expectedVersion.equals(cached.get().getVersion()))) {
+            Optional<Device> updated = conditionalUpdate(cached.get(), updateDto);
+            if (updated.isPresent()) {
+                return updated.get();
+            }
+        }
+
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Device current = findDevice(id);
+            if (current.getState() == DeviceState.IN_USE) {
+                throw deviceInUse();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new DeviceVersionConflictException(id, expectedVersion, current.getVersion());
+            }
+
+            Optional<Device> updated = conditionalUpdate(current, updateDto);
+            if (updated.isPresent()) {
+                return updated.get();
+            }
+            if (expectedVersion != null) {
+                break;
+            }
         }
-        deviceMapper.updateDeviceFromDTO(updateDto, device);
-        return deviceRepository.save(device);
+        throw updateFailure(id, expectedVersion);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Device getDeviceById(Long id) {
-        return deviceRepository.findById(id)
-                .orElseThrow(() -> new DeviceNotFoundException("Device not found with id: " + id));
+        return deviceCache.get(id).orElseGet(() -> {
+            Device device = findDevice(id);
+            deviceCache.put(device);
+            return device;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public DeviceResponse getDeviceById(Long id, Set<DeviceField> fields) {
+        Optional<Device> cached = deviceCache.get(id);
+        if (cached.isPresent()) {
+            return DeviceProjection.fromDevice(cached.get(), fields);
+        }
+        if (fields.containsAll(DeviceField.all())) {
+            return DeviceProjection.fromDevice(getDeviceById(id), fields);
+        }
+        if (deviceCache.isKnownMissing(id)) {
+            throw new DeviceNotFoundException(id);
+        }
+        long mark = deviceCache.creationMark();
+        return deviceRepository.findProjectedById(id, fields)
+                .map(tuple -> DeviceProjection.fromTuple(tuple, fields))
+                .orElseThrow(() -> notFound(id, mark));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<Long> getDeviceVersion(Long id) {
+        Optional<Device> cached = deviceCache.get(id);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().getVersion());
+        }
+        return deviceRepository.findVersionById(id);
     }
 
     @Transactional(readOnly = true)
@@ -66,14 +207,294 @@ public class DeviceServiceImpl implements DeviceService {
         return deviceRepository.findByState(state);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public DevicePage<DeviceResponse> getDevices(DeviceFilter filter, DeviceSort sort, String cursor, Integer limit,
+                                                 Set<DeviceField> fields) {
+        DeviceSort effectiveSort = sort != null ? sort : DeviceSort.ID;
+        DeviceProperties.Pagination pagination = deviceProperties.getPagination();
+        int pageSize = resolveLimit(limit, pagination.getDefaultLimit(), pagination.getMaxLimit());
+        KeysetScrollPosition position = DeviceCursor.decode(effectiveSort, cursor);
+        if (effectiveSort == DeviceSort.ID && deviceReadModel.isReady()) {
+            return getDevicesFromReadModel(filter, position, pageSize, fields);
+        }
+
+        // One extra row tells whether another page follows
+        List<Tuple> rows = deviceRepository.findProjected(DeviceSpecifications.matching(filter),
+                DeviceProjection.columns(fields, effectiveSort), effectiveSort, position, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Tuple> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<DeviceResponse> items = page.stream()
+                .map(tuple -> DeviceProjection.fromTuple(tuple, fields))
+                .toList();
+
+        String next = null;
+        if (hasNext) {
+            Tuple last = page.getLast();
+            next = DeviceCursor.encode(effectiveSort, last.get("id", Long.class),
+                    effectiveSort == DeviceSort.CREATION_TIME ? last.get("creationTime", LocalDateTime.class) : null);
+        }
+        return new DevicePage<>(items, next);
+    }
+
+    private DevicePage<DeviceResponse> getDevicesFromReadModel(DeviceFilter filter, KeysetScrollPosition position,
+                                                               int pageSize, Set<DeviceField> fields) {
+        Object afterId = position.getKeys().get("id");
+        List<DeviceResponse> rows = deviceReadModel.page(filter, afterId != null ? (Long) afterId : Long.MIN_VALUE,
+                pageSize + 1, fields);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<DeviceResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String next = hasNext ? DeviceCursor.encode(DeviceSort.ID, items.getLast().getId(), null) : null;
+        return new DevicePage<>(items, next);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public DeviceSearchResult searchDevices(String query, Integer limit, Set<DeviceField> fields) {
+        String text = query != null ? query.strip() : "";
+        if (text.isEmpty()) {
+            throw new DeviceValidationException("Search query must not be blank");
+        }
+        if (text.length() > MAX_SEARCH_LENGTH) {
+            throw new DeviceValidationException("Search query must be at most " + MAX_SEARCH_LENGTH + " characters");
+        }
+        DeviceProperties.Search search = deviceProperties.getSearch();
+        int pageSize = resolveLimit(limit, search.getDefaultLimit(), search.getMaxLimit());
+
+        List<Device> devices;
+        if (deviceSearchIndex.isReady()) {
+            List<Long> ids = deviceSearchIndex.search(text, pageSize);
+            Map<Long, Device> byId = deviceRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Device::getId, Function.identity()));
+            // Keep the index's ranking; ids deleted meanwhile by another instance are dropped
+            devices = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        } else {
+            devices = deviceRepository.findBy(DeviceSpecifications.nameOrBrandContainsIgnoreCase(text),
+                    q -> q.sortBy(Sort.by("id")).limit(pageSize).all());
+        }
+        return new DeviceSearchResult(text, devices.stream()
+                .map(device -> DeviceProjection.fromDevice(device, fields))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportDevices(DeviceFilter filter, Consumer<Device> sink) {
+        int fetchSize = deviceProperties.getExport().getFetchSize();
+        long count = 0;
+        try (Stream<Device> devices = deviceRepository.streamBy(DeviceSpecifications.matching(filter), fetchSize)) {
+            Iterator<Device> iterator = devices.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public void deleteDevice(Long id) {
-        Device device = getDeviceById(id);
+        Device device = findDevice(id);
 
         if (device.getState() == DeviceState.IN_USE) {
             throw new DeviceValidationException("Cannot delete a device that is in use");
         }
 
         deviceRepository.delete(device);
+        publish(DeviceChangeType.DELETED, device, null);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public DeviceDeletionProgress deleteDevices(DeviceFilter filter, Consumer<DeviceDeletionProgress> progress) {
+        validateBulkFilter(filter);
+        Specification<Device> spec = DeviceSpecifications.matching(filter);
+        int chunkSize = deviceProperties.getBulk().getChunkSize();
+
+        int chunks = 0;
+        int deleted = 0;
+        int rejected = 0;
+        Long afterId = null;
+        while (true) {
+            Long from = afterId;
+            DeletionChunk chunk = transactionOperations.execute(status -> deletionChunk(spec, from, chunkSize));
+            if (chunk.size() > 0) {
+                chunks++;
+                deleted += chunk.deleted();
+                rejected += chunk.rejected();
+                progress.accept(new DeviceDeletionProgress(chunks, deleted, rejected, false));
+            }
+            if (chunk.size() < chunkSize) {
+                return new DeviceDeletionProgress(chunks, deleted, rejected, true);
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public DeviceTransitionResult transitionDevices(DeviceFilter filter, DeviceState targetState) {
+        validateBulkFilter(filter);
+        Specification<Device> spec = DeviceSpecifications.matching(filter);
+        int chunkSize = deviceProperties.getBulk().getChunkSize();
+
+        int updated = 0;
+        int rejected = 0;
+        int unchanged = 0;
+        Long afterId = null;
+        while (true) {
+            Long from = afterId;
+            TransitionChunk chunk = transactionOperations.execute(status -> transitionChunk(spec, from, chunkSize, targetState));
+            updated += chunk.updated();
+            rejected += chunk.rejected();
+            unchanged += chunk.unchanged();
+            if (chunk.size() < chunkSize) {
+                return new DeviceTransitionResult(updated, rejected, unchanged);
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Override
+    public void validateBulkFilter(DeviceFilter filter) {
+        if (filter == null || !filter.hasCriteria()) {
+            throw new DeviceValidationException("Bulk operations require at least one filter criterion");
+        }
+        int maxItems = deviceProperties.getBatch().getMaxItems();
+        if (filter.getIds() != null && filter.getIds().size() > maxItems) {
+            throw new DeviceValidationException("At most " + maxItems + " ids may be given");
+        }
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Override
+    public DeviceStats getDeviceStats() {
+        return deviceInventory.snapshot();
+    }
+
+    private Optional<Device> conditionalUpdate(Device current, DeviceUpdateDto updateDto) {
+        Device updated = current.toBuilder().build();
+        deviceMapper.updateDeviceFromDTO(updateDto, updated);
+        updated.setVersion(current.getVersion() + 1);
+        updated.setUpdateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        int rows = deviceRepository.updateIfUnchanged(current.getId(), current.getVersion(),
+                updated.getName(), updated.getBrand(), updated.getState(), updated.getUpdateTime());
+        if (rows == 0) {
+            return Optional.empty();
+        }
+        publish(DeviceChangeType.UPDATED, current, updated);
+        return Optional.of(updated);
+    }
+
+    private TransitionChunk transitionChunk(Specification<Device> spec, Long afterId, int chunkSize,
+                                            DeviceState targetState) {
+        List<Device> devices = deviceRepository.lockChunk(spec, afterId, chunkSize);
+        if (devices.isEmpty()) {
+            return new TransitionChunk(afterId, 0, 0, 0, 0);
+        }
+
+        List<Device> candidates = new ArrayList<>(devices.size());
+        int rejected = 0;
+        int unchanged = 0;
+        for (Device device : devices) {
+            if (device.getState() == DeviceState.IN_USE) {
+                rejected++;
+            } else if (device.getState() == targetState) {
+                unchanged++;
+            } else {
+                candidates.add(device);
+            }
+        }
+
+        int updated = 0;
+        if (!candidates.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            // The rows are locked, so the UPDATE's WHERE clause sees the states classified above
+            updated = deviceRepository.transitionState(candidates.stream().map(Device::getId).toList(), targetState, now);
+            for (Device before : candidates) {
+                publish(DeviceChangeType.UPDATED, before, before.toBuilder()
+                        .state(targetState)
+                        .version(before.getVersion() + 1)
+                        .updateTime(now)
+                        .build());
+            }
+        }
+        return new TransitionChunk(devices.getLast().getId(), devices.size(), updated,
+                rejected + candidates.size() - updated, unchanged);
+    }
+
+    private DeletionChunk deletionChunk(Specification<Device> spec, Long afterId, int chunkSize) {
+        List<Device> devices = deviceRepository.lockChunk(spec, afterId, chunkSize);
+        if (devices.isEmpty()) {
+            return new DeletionChunk(afterId, 0, 0, 0);
+        }
+
+        List<Device> candidates = devices.stream()
+                .filter(device -> device.getState() != DeviceState.IN_USE)
+                .toList();
+        int deleted = 0;
+        if (!candidates.isEmpty()) {
+            deleted = deviceRepository.deleteNotInUse(candidates.stream().map(Device::getId).toList());
+            candidates.forEach(device -> publish(DeviceChangeType.DELETED, device, null));
+        }
+        return new DeletionChunk(devices.getLast().getId(), devices.size(), deleted, devices.size() - deleted);
+    }
+
+    private record DeletionChunk(Long lastId, int size, int deleted, int rejected) {
+    }
+
+    private record TransitionChunk(Long lastId, int size, int updated, int rejected, int unchanged) {
+    }
+
+    private RuntimeException updateFailure(Long id, Long expectedVersion) {
+        Optional<DeviceStatusView> status = deviceRepository.findStatusById(id);
+        if (status.isEmpty()) {
+            return new DeviceNotFoundException(id);
+        }
+        if (status.get().getState() == DeviceState.IN_USE) {
+            return deviceInUse();
+        }
+        return new DeviceVersionConflictException(id, expectedVersion, status.get().getVersion());
+    }
+
+    private static DeviceValidationException deviceInUse() {
+        return new DeviceValidationException("Cannot update name or brand of a device that is in use");
+    }
+
+    /**
+     * Ids recently found missing are answered from the negative cache without a query.
+     */
+    private Device findDevice(Long id) {
+        if (deviceCache.isKnownMissing(id)) {
+            throw new DeviceNotFoundException(id);
+        }
+        long mark = deviceCache.creationMark();
+        return deviceRepository.findById(id)
+                .orElseThrow(() -> notFound(id, mark));
+    }
+
+    private DeviceNotFoundException notFound(Long id, long mark) {
+        deviceCache.putMissing(id, mark);
+        return new DeviceNotFoundException(id);
+    }
+
+    private void publish(DeviceChangeType type, Device before, Device after) {
+        eventPublisher.publishEvent(new DeviceChangedEvent(type,
+                before != null ? before.toBuilder().build() : null,
+                after != null ? after.toBuilder().build() : null));
+    }
+
+    private static int resolveLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new DeviceValidationException("Limit must be greater than zero");
+        }
+        return Math.min(limit, maxLimit);
     }
 }
@@ -0,0 +1,213 @@
+package com.example.deviceapi.service.impl;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs writes submitted by concurrent callers in shared transactions, so that they pay for one
+ * commit instead of one each. A single flusher thread takes the first waiting write, collects
+ * further ones until the batch is full or the window has passed, and commits them together;
+ * writes arriving during a commit form the next batch. If the shared transaction fails, every
+ * write of the batch is retried in its own transaction, so each caller still gets exactly the
+ * result or exception it would have gotten alone. Every transaction is flushed before it commits,
+ * so that constraint violations surface as they do for a single create.
+ */
+@Component
+class GroupCommitter {
+
+    private final DeviceRepository deviceRepository;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final DistributionSummary batchSizes;
+    private final BlockingQueue<Write<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    /**
+     * Makes checking {@link #running} and queueing one step for submitters, so that no write is
+     * queued after {@link #stop()} has drained the queue.
+     */
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    GroupCommitter(DeviceProperties deviceProperties, DeviceRepository deviceRepository,
+                   TransactionOperations transactionOperations, MeterRegistry meterRegistry) {
+        DeviceProperties.GroupCommit groupCommit = deviceProperties.getGroupCommit();
+        this.deviceRepository = deviceRepository;
+        this.transactionOperations = transactionOperations;
+        this.enabled = groupCommit.isEnabled();
+        this.maxSize = groupCommit.getMaxSize();
+        this.maxDelayNanos = groupCommit.getMaxDelay().toNanos();
+        this.batchSizes = DistributionSummary.builder("device.group-commit.batch.size")
+                .description("Writes committed together in one group-commit transaction")
+                .register(meterRegistry);
+        this.flusher = enabled
+                ? Thread.ofPlatform().name("device-group-commit").daemon().start(this::flushLoop)
+                : null;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs {@code work} in a transaction shared with other callers and waits for its commit.
+     */
+    <T> T submit(Supplier<T> work) {
+        Write<T> write = new Write<>(work);
+        if (!enqueue(write)) {
+            return runAlone(work);
+        }
+        try {
+            return write.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private boolean enqueue(Write<?> write) {
+        admission.readLock().lock();
+        try {
+            return running && queue.add(write);
+        } finally {
+            admission.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        if (flusher != null) {
+            flusher.join();
+        }
+        // Writes queued while the flusher was exiting
+        for (Write<?> write = queue.poll(); write != null; write = queue.poll()) {
+            write.completeAlone(this);
+        }
+    }
+
+    private void flushLoop() {
+        List<Write<?>> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Write<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                abandon(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable ex) {
+                batch.forEach(write -> write.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting writes and runs the collected and still queued ones alone, without blocking
+     * on the queue again. Called with the interrupt flag cleared, so that the transactions can
+     * still wait for a connection.
+     */
+    private void abandon(List<Write<?>> batch) {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        queue.drainTo(batch);
+        batch.forEach(write -> write.completeAlone(this));
+    }
+
+    private void commit(List<Write<?>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                batch.forEach(Write::run);
+                deviceRepository.flush();
+            });
+            batch.forEach(Write::complete);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.getFirst().result.completeExceptionally(ex);
+                return;
+            }
+            for (Write<?> write : batch) {
+                write.completeAlone(this);
+            }
+        }
+    }
+
+    private <T> T runAlone(Supplier<T> work) {
+        return transactionOperations.execute(status -> {
+            T value = work.get();
+            deviceRepository.flush();
+            return value;
+        });
+    }
+
+    private static final class Write<T> {
+
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private Write(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            value = work.get();
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+
+        private void completeAlone(GroupCommitter committer) {
+            try {
+                result.complete(committer.runAlone(work));
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+    }
+}
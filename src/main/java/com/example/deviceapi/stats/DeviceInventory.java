@@ -0,0 +1,114 @@
+package com.example.deviceapi.stats;
+
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceCountView;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory device counts per brand and state. Every committed create, update and delete adjusts
+ * the counters; a periodic {@code GROUP BY} over the table corrects whatever drifted (e.g. rows
+ * changed outside the API, or a change that committed while the reconciliation query ran).
+ * Reads never touch the database, so their cost depends on the number of brands, not devices.
+ */
+@Component
+public class DeviceInventory {
+
+    private final DeviceRepository deviceRepository;
+    private final ConcurrentMap<Key, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Counter drift;
+    private volatile Instant reconciledAt;
+
+    record Key(String brand, DeviceState state) {
+    }
+
+    public DeviceInventory(DeviceRepository deviceRepository, MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+        this.drift = Counter.builder("device.stats.drift")
+                .description("Absolute count corrections applied by inventory reconciliation")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        Device before = event.getBefore();
+        Device after = event.getAfter();
+        if (before != null && after != null
+                && before.getState() == after.getState() && before.getBrand().equals(after.getBrand())) {
+            return;
+        }
+        if (before != null) {
+            adjust(before, -1);
+        }
+        if (after != null) {
+            adjust(after, 1);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${device.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        Map<Key, Long> actual = new HashMap<>();
+        for (DeviceCountView row : deviceRepository.countByBrandAndState()) {
+            actual.put(new Key(row.getBrand(), row.getState()), row.getCount());
+        }
+
+        long corrected = 0;
+        for (Map.Entry<Key, Long> entry : actual.entrySet()) {
+            LongAdder adder = counts.computeIfAbsent(entry.getKey(), key -> new LongAdder());
+            long delta = entry.getValue() - adder.sum();
+            adder.add(delta);
+            corrected += Math.abs(delta);
+        }
+        for (Map.Entry<Key, LongAdder> entry : counts.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                long stale = entry.getValue().sum();
+                entry.getValue().add(-stale);
+                corrected += Math.abs(stale);
+            }
+        }
+
+        drift.increment(corrected);
+        reconciledAt = Instant.now();
+    }
+
+    public DeviceStats snapshot() {
+        long total = 0;
+        Map<DeviceState, Long> byState = new EnumMap<>(DeviceState.class);
+        for (DeviceState state : DeviceState.values()) {
+            byState.put(state, 0L);
+        }
+        Map<String, Map<DeviceState, Long>> byBrand = new TreeMap<>();
+        for (Map.Entry<Key, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            Key key = entry.getKey();
+            total += count;
+            byState.merge(key.state(), count, Long::sum);
+            byBrand.computeIfAbsent(key.brand(), brand -> new EnumMap<>(DeviceState.class))
+                    .merge(key.state(), count, Long::sum);
+        }
+        return new DeviceStats(total, byState, byBrand, reconciledAt);
+    }
+
+    private void adjust(Device device, int delta) {
+        counts.computeIfAbsent(new Key(device.getBrand(), device.getState()), key -> new LongAdder()).add(delta);
+    }
+}
@@ -0,0 +1,13 @@
+-- Schema as created by Hibernate (ddl-auto: update) before the migrations existed; such databases
+-- are baselined at this version and only get the later migrations
+
+create table device (
+    id            bigint generated by default as identity,
+    brand         varchar(255) not null,
+    creation_time timestamp(6),
+    name          varchar(255) not null,
+    state         varchar(255) not null check (state in ('AVAILABLE', 'IN_USE', 'INACTIVE')),
+    update_time   timestamp(6),
+    version       bigint,
+    primary key (id)
+);
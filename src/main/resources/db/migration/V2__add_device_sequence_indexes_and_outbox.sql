@@ -0,0 +1,30 @@
+-- Device ids are allocated from a pooled sequence instead of the identity column, so that inserts can be batched
+create sequence device_seq start with 1 increment by 50;
+
+create index idx_device_state_id on device (state, id);
+create index idx_device_creation_time_id on device (creation_time, id);
+
+-- Transactional outbox behind the change feed, with pooled ids so that its inserts are batched too
+create sequence device_change_seq start with 1 increment by 50;
+
+create table device_change (
+    id            bigint       not null,
+    type          varchar(255) not null check (type in ('CREATED', 'UPDATED', 'DELETED')),
+    device_id     bigint       not null,
+    payload       varchar(4000),
+    created_at    timestamp(6) not null,
+    -- Assigned by the dispatcher in commit order; the SSE event id
+    feed_position bigint unique,
+    primary key (id)
+);
+
+create index idx_device_change_created_at on device_change (created_at);
+
+-- Last feed position handed out; dispatchers lock this row while they assign positions
+create table device_change_head (
+    id            integer not null,
+    last_position bigint  not null,
+    primary key (id)
+);
+
+insert into device_change_head (id, last_position) values (1, 0);
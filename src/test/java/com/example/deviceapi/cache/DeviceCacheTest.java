@@ -0,0 +1,131 @@
+package com.example.deviceapi.cache;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private DeviceCache deviceCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deviceCache = new DeviceCache(new DeviceProperties(), meterRegistry);
+    }
+
+    @Test
+    void get_ShouldReturnCopyOfCachedDevice() {
+        deviceCache.put(device(1L, "iPhone 16"));
+
+        Device first = deviceCache.get(1L).orElseThrow();
+        first.setName("Changed");
+
+        assertEquals("iPhone 16", deviceCache.get(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void put_WithOlderVersion_ShouldKeepNewerEntry() {
+        deviceCache.put(device(2L, "Newer"));
+        deviceCache.put(device(1L, "Stale"));
+
+        assertEquals("Newer", deviceCache.get(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void onDeviceChanged_ShouldRefreshOnUpdateAndEvictOnDelete() {
+        Device v1 = device(1L, "iPhone 16");
+        Device v2 = device(2L, "iPhone 16 Pro");
+        deviceCache.put(v1);
+
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, v1, v2));
+        assertEquals("iPhone 16 Pro", deviceCache.get(1L).orElseThrow().getName());
+
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, v2, null));
+        assertTrue(deviceCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void put_AfterDelete_ShouldNotResurrectDevice() {
+        Device loadedBeforeDelete = device(1L, "iPhone 16");
+        Device lateUpdate = device(2L, "iPhone 16 Pro");
+
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, loadedBeforeDelete, null));
+        deviceCache.put(loadedBeforeDelete);
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, loadedBeforeDelete, lateUpdate));
+
+        assertTrue(deviceCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void get_ShouldRecordHitsAndMisses() {
+        deviceCache.put(device(1L, "iPhone 16"));
+
+        deviceCache.get(1L);
+        deviceCache.get(2L);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void putMissing_ShouldBeClearedWhenDeviceIsCreated() {
+        deviceCache.putMissing(1L, deviceCache.creationMark());
+        assertTrue(deviceCache.isKnownMissing(1L));
+
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(0L, "iPhone 16")));
+
+        assertFalse(deviceCache.isKnownMissing(1L));
+    }
+
+    @Test
+    void putMissing_AfterCreateDuringLookup_ShouldBeIgnored() {
+        long mark = deviceCache.creationMark();
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(0L, "iPhone 16")));
+
+        deviceCache.putMissing(1L, mark);
+
+        assertFalse(deviceCache.isKnownMissing(1L));
+    }
+
+    @Test
+    void onDeviceChanged_Delete_ShouldRememberIdAsMissing() {
+        deviceCache.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, device(1L, "iPhone 16"), null));
+
+        assertTrue(deviceCache.isKnownMissing(1L));
+    }
+
+    @Test
+    void whenDisabled_ShouldNeverCache() {
+        DeviceProperties properties = new DeviceProperties();
+        properties.getCache().setEnabled(false);
+        DeviceCache disabled = new DeviceCache(properties, meterRegistry);
+
+        disabled.put(device(1L, "iPhone 16"));
+
+        disabled.putMissing(2L, disabled.creationMark());
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.get(1L).isEmpty());
+        assertFalse(disabled.isKnownMissing(2L));
+    }
+
+    private Device device(long version, String name) {
+        return Device.builder()
+                .id(1L)
+                .name(name)
+                .brand("Apple")
+                .state(DeviceState.AVAILABLE)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.deviceapi.config;
+
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.entity.DeviceState;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeviceRuntimeHintsTest {
+
+    @Test
+    void registerHints_ShouldCoverTypesSerializedOutsideControllers() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new DeviceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DeviceChangeMessage.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DeviceDeletionProgress.class).test(hints));
+        // Reached through DeviceResponse.state, including its @JsonValue accessor
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DeviceState.class).test(hints));
+    }
+}
@@ -1,33 +1,67 @@
 package com.example.deviceapi.controller;
 
+import com.example.deviceapi.dto.DeviceBatchCreateDto;
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSearchResult;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.dto.DeviceTransitionResult;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
+import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.mapper.DeviceMapperImpl;
 import com.example.deviceapi.service.DeviceService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DeviceController.class)
+@Import({DeviceMapperImpl.class, SimpleMeterRegistry.class})
 class DeviceControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -56,98 +90,405 @@ class DeviceControllerTest {
         verify(deviceService, times(1)).createDevice(createDto);
     }
 
+    @Test
+    void createDevices_ShouldReturnCreatedIds() throws Exception {
+        DeviceBatchCreateDto batchDto = new DeviceBatchCreateDto(List.of(
+                new DeviceCreateDto("iPhone 16", "Apple"),
+                new DeviceCreateDto("Galaxy S25", "Samsung")));
+
+        when(deviceService.createDevices(any())).thenReturn(List.of(
+                Device.builder().id(1L).build(),
+                Device.builder().id(2L).build()));
+
+        mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.ids[0]").value(1))
+                .andExpect(jsonPath("$.ids[1]").value(2));
+
+        verify(deviceService, times(1)).createDevices(batchDto.getDevices());
+    }
+
+    @Test
+    void transitionDevices_ShouldReturnCounts() throws Exception {
+        when(deviceService.transitionDevices(any(DeviceFilter.class), eq(DeviceState.INACTIVE)))
+                .thenReturn(new DeviceTransitionResult(3, 1, 0));
+
+        mockMvc.perform(post("/api/devices/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"brand\":\"Apple\"},\"targetState\":\"INACTIVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.unchanged").value(0));
+    }
+
+    @Test
+    void transitionDevices_WithoutTargetState_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/devices/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"brand\":\"Apple\"}}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(deviceService);
+    }
+
+    @Test
+    void createDevices_WithInvalidDevice_ShouldReturnBadRequest() throws Exception {
+        DeviceBatchCreateDto batchDto = new DeviceBatchCreateDto(List.of(
+                new DeviceCreateDto("iPhone 16", "Apple"),
+                new DeviceCreateDto("", "Samsung")));
+
+        mockMvc.perform(post("/api/devices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['devices[1].name']").value("Name is required"));
+
+        verifyNoInteractions(deviceService);
+    }
+
     @Test
     void getDevice_ShouldReturnDevice() throws Exception {
-        Device device = Device.builder()
+        DeviceResponse device = DeviceResponse.builder()
                 .id(1L)
                 .name("iPhone 16")
                 .brand("Apple")
                 .build();
 
-        when(deviceService.getDeviceById(1L)).thenReturn(device);
+        when(deviceService.getDeviceById(eq(1L), any())).thenReturn(device);
 
         mockMvc.perform(get("/api/devices/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("iPhone 16"))
                 .andExpect(jsonPath("$.brand").value("Apple"));
-        verify(deviceService, times(1)).getDeviceById(1L);
+        verify(deviceService, times(1)).getDeviceById(1L, DeviceField.all());
+    }
+
+    @Test
+    void getDevice_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingDevice() throws Exception {
+        when(deviceService.getDeviceVersion(1L)).thenReturn(Optional.of(7L));
+
+        mockMvc.perform(get("/api/devices/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"7\""))
+                .andExpect(content().string(""));
+        verify(deviceService, never()).getDeviceById(any(), any());
     }
 
     @Test
-    void getAllDevices_ShouldReturnDeviceList() throws Exception {
-        Device device1 = Device.builder()
+    void getDevice_WhenETagIsStale_ShouldReturnDeviceWithCurrentETag() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
                 .id(1L)
                 .name("iPhone 16")
                 .brand("Apple")
+                .version(8L)
                 .build();
-        Device device2 = Device.builder()
+        when(deviceService.getDeviceVersion(1L)).thenReturn(Optional.of(8L));
+        when(deviceService.getDeviceById(eq(1L), any())).thenReturn(device);
+
+        mockMvc.perform(get("/api/devices/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"8\""))
+                .andExpect(jsonPath("$.name").value("iPhone 16"));
+    }
+
+    @Test
+    void getDevices_WhenPageUnchanged_ShouldReturnNotModified() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .version(2L)
+                .build();
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
+
+        String etag = mockMvc.perform(get("/api/devices"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/devices")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        DeviceResponse updated = DeviceResponse.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .version(3L)
+                .build();
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(updated), null));
+        mockMvc.perform(get("/api/devices")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    void getDevices_WithCborAccept_ShouldEncodeStateAsOrdinal() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
+                .id(1L)
+                .state(DeviceState.INACTIVE)
+                .version(2L)
+                .creationTime(LocalDateTime.of(2025, 1, 1, 12, 30, 15))
+                .build();
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
+
+        MvcResult result = mockMvc.perform(get("/api/devices")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn();
+
+        JsonNode item = new CBORMapper().readTree(result.getResponse().getContentAsByteArray()).get("items").get(0);
+        assertEquals(2, item.get("state").asInt());
+        assertTrue(item.get("creationTime").isArray());
+    }
+
+    @Test
+    void createDevice_WithSmileBody_ShouldBeAccepted() throws Exception {
+        Device device = Device.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .state(DeviceState.AVAILABLE)
+                .build();
+        when(deviceService.createDevice(any(DeviceCreateDto.class))).thenReturn(device);
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = new SmileMapper()
+                .writeValueAsBytes(new DeviceCreateDto("iPhone 16", "Apple"));
+
+        mockMvc.perform(post("/api/devices")
+                        .contentType(smile)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+        verify(deviceService).createDevice(new DeviceCreateDto("iPhone 16", "Apple"));
+    }
+
+    @Test
+    void getAllDevices_ShouldReturnDevicePage() throws Exception {
+        DeviceResponse device1 = DeviceResponse.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .build();
+        DeviceResponse device2 = DeviceResponse.builder()
                 .id(2L)
                 .name("Samsung Galaxy S25")
                 .brand("Samsung")
                 .build();
 
-        List<Device> devices = Arrays.asList(device1, device2);
-        when(deviceService.getAllDevices()).thenReturn(devices);
+        List<DeviceResponse> devices = Arrays.asList(device1, device2);
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(devices, "next-cursor"));
 
         mockMvc.perform(get("/api/devices"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
-        verify(deviceService, times(1)).getAllDevices();
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+        verify(deviceService, times(1)).getDevices(DeviceFilter.none(), DeviceSort.ID, null, null, DeviceField.all());
     }
 
     @Test
-    void getAllDevicesByBrand_ShouldReturnDeviceList() throws Exception {
-        Device device = Device.builder()
+    void getAllDevicesByBrand_ShouldReturnDevicePage() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
                 .id(1L)
                 .name("iPhone 16")
                 .brand("Apple")
                 .build();
 
-        when(deviceService.getDevicesByBrand(any())).thenReturn(List.of(device));
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
 
         mockMvc.perform(get("/api/devices")
                         .param("brand", "Apple"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
-        verify(deviceService, times(1)).getDevicesByBrand("Apple");
+                .andExpect(jsonPath("$.items.length()").value(1));
+        verify(deviceService, times(1))
+                .getDevices(DeviceFilter.builder().brand("Apple").build(), DeviceSort.ID, null, null, DeviceField.all());
     }
 
     @Test
-    void getAllDevicesByState_ShouldReturnDeviceList() throws Exception {
-        Device device = Device.builder()
+    void getAllDevicesByState_ShouldReturnDevicePage() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
                 .id(1L)
                 .name("iPhone 16")
                 .brand("Apple")
                 .state(DeviceState.AVAILABLE)
                 .build();
 
-        when(deviceService.getDevicesByState(any())).thenReturn(List.of(device));
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
 
         mockMvc.perform(get("/api/devices")
                         .param("state", "AVAILABLE"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
-        verify(deviceService, times(1)).getDevicesByState(DeviceState.AVAILABLE);
+                .andExpect(jsonPath("$.items.length()").value(1));
+        verify(deviceService, times(1)).getDevices(
+                DeviceFilter.builder().state(List.of(DeviceState.AVAILABLE)).build(), DeviceSort.ID, null, null, DeviceField.all());
     }
 
     @Test
-    void getAllDevicesByStateAndBrand_ShouldReturnDeviceList() throws Exception {
-        Device device = Device.builder()
+    void getAllDevicesByStateAndBrand_ShouldReturnDevicePage() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
                 .id(1L)
                 .name("iPhone 16")
                 .brand("Apple")
                 .state(DeviceState.AVAILABLE)
                 .build();
 
-        when(deviceService.getDevicesByBrand(any())).thenReturn(List.of(device));
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
 
         mockMvc.perform(get("/api/devices")
                         .param("state", "AVAILABLE")
-                        .param("brand", "Apple"))
+                        .param("brand", "Apple")
+                        .param("sort", "creationTime")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
-        verify(deviceService, times(1)).getDevicesByBrand("Apple");
+                .andExpect(jsonPath("$.items.length()").value(1));
+        verify(deviceService, times(1)).getDevices(
+                DeviceFilter.builder().brand("Apple").state(List.of(DeviceState.AVAILABLE)).build(),
+                DeviceSort.CREATION_TIME, "abc", 10, DeviceField.all());
+    }
+
+    @Test
+    void getDevices_WithCompositeFilter_ShouldBindAllCriteria() throws Exception {
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(), null));
+
+        mockMvc.perform(get("/api/devices")
+                        .param("brand", "Apple")
+                        .param("state", "available", "in-use")
+                        .param("namePrefix", "iPh")
+                        .param("createdFrom", "2025-01-01T00:00:00")
+                        .param("updatedTo", "2025-02-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        DeviceFilter expected = DeviceFilter.builder()
+                .brand("Apple")
+                .state(List.of(DeviceState.AVAILABLE, DeviceState.IN_USE))
+                .namePrefix("iPh")
+                .createdFrom(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .updatedTo(LocalDateTime.of(2025, 2, 1, 0, 0))
+                .build();
+        verify(deviceService, times(1)).getDevices(expected, DeviceSort.ID, null, null, DeviceField.all());
+    }
+
+    @Test
+    void getDevices_WithFields_ShouldRequestOnlyThoseFields() throws Exception {
+        DeviceResponse device = DeviceResponse.builder()
+                .id(1L)
+                .state(DeviceState.IN_USE)
+                .version(2L)
+                .build();
+        when(deviceService.getDevices(any(), any(), any(), any(), any()))
+                .thenReturn(new DevicePage<>(List.of(device), null));
+
+        mockMvc.perform(get("/api/devices")
+                        .param("fields", "state"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].state").value("IN_USE"))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist())
+                .andExpect(jsonPath("$.items[0].brand").doesNotExist());
+        verify(deviceService, times(1)).getDevices(DeviceFilter.none(), DeviceSort.ID, null, null,
+                EnumSet.of(DeviceField.ID, DeviceField.VERSION, DeviceField.STATE));
+    }
+
+    @Test
+    void getDevice_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/devices/1")
+                        .param("fields", "id,serialNumber"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(deviceService);
+    }
+
+    @Test
+    void getDeviceStats_ShouldReturnCounts() throws Exception {
+        when(deviceService.getDeviceStats()).thenReturn(new DeviceStats(3,
+                Map.of(DeviceState.AVAILABLE, 2L, DeviceState.IN_USE, 1L),
+                Map.of("Apple", Map.of(DeviceState.AVAILABLE, 2L, DeviceState.IN_USE, 1L)),
+                null));
+
+        mockMvc.perform(get("/api/devices/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byState.AVAILABLE").value(2))
+                .andExpect(jsonPath("$.byBrand.Apple.IN_USE").value(1));
+    }
+
+    @Test
+    void getDevices_WithInvalidState_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/devices")
+                        .param("state", "broken"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(deviceService);
+    }
+
+    @Test
+    void getDeviceById_WhenNotFound_ShouldReturnNotFoundAndCountError() throws Exception {
+        when(deviceService.getDeviceById(eq(99L), any())).thenThrow(new DeviceNotFoundException("Device not found with id: 99"));
+
+        mockMvc.perform(get("/api/devices/99"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1.0, meterRegistry.get("device.api.errors")
+                .tag("exception", "DeviceNotFoundException")
+                .tag("status", "404")
+                .counter().count());
+    }
+
+    @Test
+    void getDevices_WithInvalidSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/devices")
+                        .param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(deviceService);
+    }
+
+    @Test
+    void exportDevices_ShouldStreamNdjson() throws Exception {
+        Device device1 = Device.builder().id(1L).name("iPhone 16").brand("Apple").build();
+        Device device2 = Device.builder().id(2L).name("iPad Air").brand("Apple").build();
+
+        doAnswer(invocation -> {
+            Consumer<Device> sink = invocation.getArgument(1);
+            sink.accept(device1);
+            sink.accept(device2);
+            return 2L;
+        }).when(deviceService).exportDevices(any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/devices/export")
+                        .param("brand", "Apple")
+                        .param("state", "available"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], Device.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], Device.class).getId());
+        verify(deviceService, times(1)).exportDevices(
+                eq(DeviceFilter.builder().brand("Apple").state(List.of(DeviceState.AVAILABLE)).build()), any());
     }
 
     @Test
@@ -159,7 +500,7 @@ class DeviceControllerTest {
                 .build();
         DeviceUpdateDto updateDto = new DeviceUpdateDto("Iphone 16", "Apple", DeviceState.AVAILABLE);
 
-        when(deviceService.updateDevice(any(), any())).thenReturn(device);
+        when(deviceService.updateDevice(any(), any(), any())).thenReturn(device);
         mockMvc.perform(put("/api/devices/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDto)))
@@ -167,7 +508,7 @@ class DeviceControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("iPhone 16"))
                 .andExpect(jsonPath("$.brand").value("Apple"));
-        verify(deviceService, times(1)).updateDevice(1L, updateDto);
+        verify(deviceService, times(1)).updateDevice(1L, updateDto, null);
     }
 
     @Test
@@ -179,7 +520,7 @@ class DeviceControllerTest {
                 .build();
         DeviceUpdateDto updateDto = new DeviceUpdateDto("Iphone 16", "Apple", DeviceState.AVAILABLE);
 
-        when(deviceService.updateDevice(any(), any())).thenReturn(device);
+        when(deviceService.updateDevice(any(), any(), any())).thenReturn(device);
         mockMvc.perform(patch("/api/devices/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDto)))
@@ -187,7 +528,51 @@ class DeviceControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("iPhone 16"))
                 .andExpect(jsonPath("$.brand").value("Apple"));
-        verify(deviceService, times(1)).updateDevice(1L, updateDto);
+        verify(deviceService, times(1)).updateDevice(1L, updateDto, null);
+    }
+
+    @Test
+    void updateDevice_WithIfMatch_ShouldPassExpectedVersionAndReturnETag() throws Exception {
+        Device device = Device.builder()
+                .id(1L)
+                .name("iPhone 16")
+                .brand("Apple")
+                .version(4L)
+                .build();
+        DeviceUpdateDto updateDto = new DeviceUpdateDto("iPhone 16", null, null);
+
+        when(deviceService.updateDevice(any(), any(), any())).thenReturn(device);
+        mockMvc.perform(patch("/api/devices/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"4\""));
+        verify(deviceService, times(1)).updateDevice(1L, updateDto, 3L);
+    }
+
+    @Test
+    void updateDevice_WhenVersionConflicts_ShouldReturnPreconditionFailed() throws Exception {
+        DeviceUpdateDto updateDto = new DeviceUpdateDto("iPhone 16", null, null);
+
+        when(deviceService.updateDevice(any(), any(), any()))
+                .thenThrow(new DeviceVersionConflictException(1L, 3L, 5L));
+        mockMvc.perform(put("/api/devices/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    void updateDevice_WithMalformedIfMatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/api/devices/1")
+                        .header(HttpHeaders.IF_MATCH, "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DeviceUpdateDto())))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(deviceService);
     }
 
     @Test
@@ -198,4 +583,55 @@ class DeviceControllerTest {
         verify(deviceService, times(1)).deleteDevice(1L);
     }
 
-}
\ No newline at end of file
+    @Test
+    void deleteDevices_ShouldStreamProgressAndFinalCounts() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<DeviceDeletionProgress> progress = invocation.getArgument(1);
+            progress.accept(new DeviceDeletionProgress(1, 500, 0, false));
+            progress.accept(new DeviceDeletionProgress(2, 700, 3, false));
+            return new DeviceDeletionProgress(2, 700, 3, true);
+        }).when(deviceService).deleteDevices(any(), any());
+
+        MvcResult result = mockMvc.perform(delete("/api/devices").param("brand", "Nokia"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(500, objectMapper.readTree(lines[0]).get("deleted").asInt());
+        assertTrue(objectMapper.readTree(lines[2]).get("done").asBoolean());
+        assertEquals(3, objectMapper.readTree(lines[2]).get("rejected").asInt());
+        verify(deviceService).deleteDevices(eq(DeviceFilter.builder().brand("Nokia").build()), any());
+    }
+
+    @Test
+    void deleteDevices_WithoutFilter_ShouldReturnBadRequest() throws Exception {
+        doThrow(new DeviceValidationException("Bulk operations require at least one filter criterion"))
+                .when(deviceService).validateBulkFilter(any());
+
+        mockMvc.perform(delete("/api/devices"))
+                .andExpect(status().isBadRequest());
+
+        verify(deviceService, never()).deleteDevices(any(), any());
+    }
+
+    @Test
+    void searchDevices_ShouldReturnRankedMatches() throws Exception {
+        when(deviceService.searchDevices(eq("iphone"), eq(5), any())).thenReturn(new DeviceSearchResult("iphone", List.of(
+                DeviceResponse.builder().id(2L).name("iPhone 16").build(),
+                DeviceResponse.builder().id(1L).name("iPhone 16 Pro").build())));
+
+        mockMvc.perform(get("/api/devices/search").param("q", "iphone").param("limit", "5").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("iphone"))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("iPhone 16 Pro"));
+
+        verify(deviceService).searchDevices("iphone", 5, EnumSet.of(DeviceField.ID, DeviceField.NAME, DeviceField.VERSION));
+    }
+}
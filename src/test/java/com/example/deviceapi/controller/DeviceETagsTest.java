@@ -0,0 +1,33 @@
+package com.example.deviceapi.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceETagsTest {
+
+    @Test
+    void forVersion_ShouldBeWeakAndAcceptedByIfMatch() {
+        String etag = DeviceETags.forVersion(3L);
+
+        assertEquals("W/\"3\"", etag);
+        assertEquals(3L, DeviceETags.parseIfMatch(etag));
+        assertTrue(DeviceETags.matchesIfNoneMatch(etag, etag));
+    }
+
+    @Test
+    void matchesIfNoneMatch_ShouldCompareWeakTagsWeakly() {
+        assertTrue(DeviceETags.matchesIfNoneMatch("W/\"1-abc\"", "W/\"1-abc\""));
+        assertTrue(DeviceETags.matchesIfNoneMatch("\"1-abc\"", "W/\"1-abc\""));
+        assertTrue(DeviceETags.matchesIfNoneMatch("W/\"3\"", "\"3\""));
+        assertTrue(DeviceETags.matchesIfNoneMatch("\"2\", W/\"1-abc\"", "W/\"1-abc\""));
+        assertTrue(DeviceETags.matchesIfNoneMatch("*", "W/\"1-abc\""));
+    }
+
+    @Test
+    void matchesIfNoneMatch_ShouldNotMatchOtherTags() {
+        assertFalse(DeviceETags.matchesIfNoneMatch(null, "\"3\""));
+        assertFalse(DeviceETags.matchesIfNoneMatch("W/\"1-abd\"", "W/\"1-abc\""));
+        assertFalse(DeviceETags.matchesIfNoneMatch("\"4\"", "\"3\""));
+    }
+}
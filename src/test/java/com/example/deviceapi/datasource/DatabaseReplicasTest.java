@@ -0,0 +1,62 @@
+package com.example.deviceapi.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class DatabaseReplicasTest {
+
+    @Test
+    void getConnection_ShouldRotateOverReplicas() throws SQLException {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        DatabaseReplicas replicas = new DatabaseReplicas(List.of(dataSource(first), dataSource(second)));
+
+        assertSame(first, replicas.getConnection());
+        assertSame(second, replicas.getConnection());
+        assertSame(first, replicas.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldSkipFailedReplicaUntilHealthCheckRestoresIt() throws SQLException {
+        Connection healthy = mock(Connection.class);
+        Connection recovered = mock(Connection.class);
+        when(healthy.isValid(anyInt())).thenReturn(true);
+        when(recovered.isValid(anyInt())).thenReturn(true);
+        DataSource flaky = mock(DataSource.class);
+        when(flaky.getConnection()).thenThrow(new SQLException("connection refused")).thenReturn(recovered);
+        DatabaseReplicas replicas = new DatabaseReplicas(List.of(flaky, dataSource(healthy)));
+
+        assertSame(healthy, replicas.getConnection());
+        assertEquals(1, replicas.healthyCount());
+        assertSame(healthy, replicas.getConnection());
+
+        replicas.checkHealth();
+
+        assertEquals(2, replicas.healthyCount());
+    }
+
+    @Test
+    void getConnection_WhenNoReplicaReachable_ShouldReturnNull() throws SQLException {
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("connection refused"));
+        DatabaseReplicas replicas = new DatabaseReplicas(List.of(down));
+
+        assertNull(replicas.getConnection());
+        assertNull(replicas.getConnection());
+        verify(down, times(1)).getConnection();
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
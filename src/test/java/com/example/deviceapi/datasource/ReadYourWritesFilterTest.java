@@ -0,0 +1,62 @@
+package com.example.deviceapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void write_ShouldSetCookieWithEndOfWindow() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/devices"), response, (req, res) -> { });
+
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE_NAME + "=" + (NOW.toEpochMilli() + 5000)), cookie);
+        assertTrue(cookie.contains("HttpOnly"));
+    }
+
+    @Test
+    void read_WithinWindow_ShouldBePinnedToPrimary() throws Exception {
+        assertTrue(pinnedDuring(NOW.toEpochMilli() + 1));
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    void read_AfterWindowOrWithoutCookie_ShouldUseReplicas() throws Exception {
+        assertFalse(pinnedDuring(NOW.toEpochMilli()));
+        assertFalse(pinnedDuring(null));
+    }
+
+    private boolean pinnedDuring(Long cookieValue) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/devices");
+        if (cookieValue != null) {
+            request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, cookieValue.toString()));
+        }
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+        return pinned.get();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.deviceapi.datasource;
+
+import com.example.deviceapi.cache.DeviceCache;
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.exception.DeviceNotFoundException;
+import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.service.DeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses two in-memory databases: the usual test database as primary and a second one, holding a
+ * single marker row, as replica. A read that returns the marker went to the replica.
+ */
+@SpringBootTest(properties = {
+        "device.datasource.routing.enabled=true",
+        "device.datasource.routing.replica-urls=" + ReplicaRoutingTest.REPLICA_URL
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private static final String PRIMARY_URL = "jdbc:h2:mem:testdb";
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private DeviceCache deviceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void createReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS device (
+                        id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, brand VARCHAR(255) NOT NULL,
+                        state VARCHAR(255) NOT NULL, version BIGINT,
+                        creation_time TIMESTAMP(6), update_time TIMESTAMP(6))
+                    """);
+            statement.execute("MERGE INTO device (id, name, brand, state, version) "
+                    + "VALUES (900001, 'Replica marker', 'Replica', 'AVAILABLE', 0)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPinnedToPrimary(false);
+        deviceRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldBeServedByReplica() {
+        List<Device> devices = deviceService.getDevicesByBrand("replica");
+
+        assertEquals(List.of(900001L), devices.stream().map(Device::getId).toList());
+    }
+
+    @Test
+    void writes_ShouldGoToPrimaryOnly() throws SQLException {
+        Device created = deviceService.createDevice(new DeviceCreateDto("iPhone 16", "Apple"));
+
+        assertTrue(contains(PRIMARY_URL, created.getId()));
+        assertFalse(contains(REPLICA_URL, created.getId()));
+        assertTrue(deviceService.getDevicesByBrand("apple").isEmpty());
+    }
+
+    @Test
+    void readsPinnedToPrimary_ShouldSeeOwnWrites() {
+        Device created = deviceService.createDevice(new DeviceCreateDto("iPhone 16", "Apple"));
+        ReplicaRoutingDataSource.setPinnedToPrimary(true);
+
+        assertEquals(List.of(created.getId()),
+                deviceService.getDevicesByBrand("apple").stream().map(Device::getId).toList());
+        assertTrue(deviceService.getDevicesByBrand("replica").isEmpty());
+    }
+
+    @Test
+    void missOnReplica_ShouldNotBeCachedAsMissing() {
+        Device created = deviceService.createDevice(new DeviceCreateDto("iPhone 16", "Apple"));
+
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.getDeviceById(created.getId()));
+
+        assertFalse(deviceCache.isKnownMissing(created.getId()));
+    }
+
+    @Test
+    void readFromReplica_ShouldOnlyBeFlaggedForItsOwnTransaction() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertEquals(Boolean.TRUE, readOnly.execute(status -> {
+            deviceRepository.count();
+            return ReplicaRoutingDataSource.isReadingFromReplica();
+        }));
+        assertEquals(Boolean.FALSE, readOnly.execute(status -> ReplicaRoutingDataSource.isReadingFromReplica()));
+    }
+
+    @Test
+    void deviceReadFromReplica_ShouldNotBeCached() {
+        assertEquals("Replica marker", deviceService.getDeviceById(900001L).getName());
+
+        assertTrue(deviceCache.get(900001L).isEmpty());
+    }
+
+    @Test
+    void readsPinnedToPrimary_ShouldBypassNegativeCache() {
+        Device created = deviceService.createDevice(new DeviceCreateDto("iPhone 16", "Apple"));
+        deviceCache.putMissing(created.getId(), deviceCache.creationMark());
+        ReplicaRoutingDataSource.setPinnedToPrimary(true);
+
+        assertEquals(created.getId(), deviceService.getDeviceById(created.getId()).getId());
+    }
+
+    private static boolean contains(String url, Long id) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet rows = connection.createStatement().executeQuery("SELECT id FROM device WHERE id = " + id)) {
+            return rows.next();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.event.DeviceChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceChangeBufferTest {
+
+    private DeviceChangeBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        DeviceProperties properties = new DeviceProperties();
+        properties.getChanges().setBufferSize(3);
+        buffer = new DeviceChangeBuffer(properties);
+        buffer.reset(10);
+    }
+
+    @Test
+    void readAfter_ShouldReturnChangesAfterCursorInIdOrder() {
+        buffer.append(messages(11, 12, 14));
+
+        assertEquals(List.of(12L, 14L), ids(buffer.readAfter(11, 10)));
+        assertEquals(List.of(11L), ids(buffer.readAfter(10, 1)));
+        assertEquals(List.of(14L), ids(buffer.readAfter(13, 10)));
+        assertTrue(buffer.readAfter(14, 10).isEmpty());
+        assertEquals(14, buffer.head());
+    }
+
+    @Test
+    void readAfter_WhenCursorWasEvicted_ShouldReturnNull() {
+        buffer.append(messages(11, 12, 13, 14, 15));
+
+        assertEquals(12, buffer.floor());
+        assertNull(buffer.readAfter(11, 10));
+        assertEquals(List.of(13L, 14L, 15L), ids(buffer.readAfter(12, 10)));
+    }
+
+    @Test
+    void readAfter_BeforeStartPosition_ShouldReturnNull() {
+        assertNull(buffer.readAfter(5, 10));
+    }
+
+    @Test
+    void awaitAfter_ShouldTimeOutWithoutNewChangesAndStopWhenClosed() throws InterruptedException {
+        buffer.append(messages(11));
+
+        assertTrue(buffer.awaitAfter(10, Duration.ofMillis(10)));
+        assertFalse(buffer.awaitAfter(11, Duration.ofMillis(10)));
+
+        buffer.close();
+        assertFalse(buffer.awaitAfter(11, Duration.ofSeconds(10)));
+        assertTrue(buffer.isClosed());
+    }
+
+    static List<DeviceChangeMessage> messages(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new DeviceChangeMessage(id, DeviceChangeType.UPDATED, id, null, null))
+                .toList();
+    }
+
+    private static List<Long> ids(List<DeviceChangeMessage> messages) {
+        return messages.stream().map(DeviceChangeMessage::getId).toList();
+    }
+}
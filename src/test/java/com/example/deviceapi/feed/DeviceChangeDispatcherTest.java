@@ -0,0 +1,94 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.entity.DeviceChange;
+import com.example.deviceapi.entity.DeviceChangeHead;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.repository.DeviceChangeHeadRepository;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceChangeDispatcherTest {
+
+    private DeviceChangeRepository deviceChangeRepository;
+    private DeviceChangeHeadRepository deviceChangeHeadRepository;
+    private DeviceChangeBuffer buffer;
+    private DeviceChangeDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        DeviceProperties properties = new DeviceProperties();
+        deviceChangeRepository = mock(DeviceChangeRepository.class);
+        deviceChangeHeadRepository = mock(DeviceChangeHeadRepository.class);
+        buffer = new DeviceChangeBuffer(properties);
+        dispatcher = new DeviceChangeDispatcher(deviceChangeRepository, deviceChangeHeadRepository, buffer,
+                properties, TransactionOperations.withoutTransaction());
+
+        when(deviceChangeRepository.findMaxPosition()).thenReturn(Optional.of(10L));
+        dispatcher.start();
+    }
+
+    @Test
+    void dispatch_ShouldAppendChangesInPositionOrder() {
+        when(deviceChangeRepository.findByPositionGreaterThanOrderByPositionAsc(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(change(40, 11L), change(39, 12L)));
+
+        dispatcher.dispatch();
+
+        assertEquals(12, buffer.head());
+        assertEquals(List.of(11L, 12L), buffer.readAfter(10, 10).stream().map(DeviceChangeMessage::getId).toList());
+        verify(deviceChangeHeadRepository, never()).lockHead();
+    }
+
+    @Test
+    void dispatch_ShouldNumberRowsCommittedLateAfterThoseAlreadyDispatched() {
+        DeviceChangeHead head = new DeviceChangeHead(DeviceChangeHead.ID, 10L);
+        when(deviceChangeHeadRepository.lockHead()).thenReturn(Optional.of(head));
+        when(deviceChangeRepository.existsByPositionIsNull()).thenReturn(true);
+        DeviceChange dispatched = change(60, null);
+        // Inserted first, but committed after row 60 had been dispatched
+        DeviceChange late = change(3, null);
+
+        when(deviceChangeRepository.findByPositionIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(dispatched));
+        when(deviceChangeRepository.findByPositionGreaterThanOrderByPositionAsc(eq(10L), any(Limit.class)))
+                .thenAnswer(invocation -> List.of(dispatched));
+        dispatcher.dispatch();
+
+        when(deviceChangeRepository.findByPositionIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(late));
+        when(deviceChangeRepository.findByPositionGreaterThanOrderByPositionAsc(eq(11L), any(Limit.class)))
+                .thenAnswer(invocation -> List.of(late));
+        dispatcher.dispatch();
+
+        assertEquals(11L, dispatched.getPosition());
+        assertEquals(12L, late.getPosition());
+        assertEquals(12L, head.getLastPosition());
+        assertEquals(List.of(60L, 3L), buffer.readAfter(10, 10).stream().map(DeviceChangeMessage::getDeviceId).toList());
+    }
+
+    private static DeviceChange change(long id, Long position) {
+        return DeviceChange.builder()
+                .id(id)
+                .type(DeviceChangeType.CREATED)
+                .deviceId(id)
+                .payload("{\"id\":" + id + "}")
+                .createdAt(LocalDateTime.now())
+                .position(position)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.entity.DeviceChange;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.repository.DeviceChangeHeadRepository;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.deviceapi.feed.DeviceChangeBufferTest.messages;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceChangeFeedTest {
+
+    private DeviceChangeRepository deviceChangeRepository;
+    private DeviceChangeBuffer buffer;
+    private DeviceChangeDispatcher dispatcher;
+    private DeviceChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        DeviceProperties properties = new DeviceProperties();
+        properties.getChanges().setBufferSize(2);
+        deviceChangeRepository = mock(DeviceChangeRepository.class);
+        when(deviceChangeRepository.findMaxPosition()).thenReturn(Optional.of(10L));
+        buffer = new DeviceChangeBuffer(properties);
+        dispatcher = new DeviceChangeDispatcher(deviceChangeRepository, mock(DeviceChangeHeadRepository.class),
+                buffer, properties, TransactionOperations.withoutTransaction());
+        feed = new DeviceChangeFeed(buffer, dispatcher, deviceChangeRepository, properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void stream_ShouldResumeFromOutboxThenContinueFromBuffer() throws Exception {
+        dispatcher.start();
+        buffer.append(messages(11, 12, 13));
+        when(deviceChangeRepository.findByPositionGreaterThanAndPositionLessThanEqualOrderByPositionAsc(
+                eq(10L), eq(11L), any(Limit.class)))
+                .thenReturn(List.of(DeviceChange.builder()
+                        .id(90L).position(11L).type(DeviceChangeType.CREATED).deviceId(7L).payload("{\"id\":7}").build()));
+
+        String events = streamUntil(10L, "id: 13\n");
+
+        assertTrue(events.startsWith("retry: 3000\n\n"));
+        assertTrue(events.contains("id: 11\ndata: {\"id\":11,\"type\":\"CREATED\",\"deviceId\":7,\"device\":{\"id\":7}}\n\n"));
+        assertTrue(events.indexOf("id: 11\n") < events.indexOf("id: 12\n"));
+        assertTrue(events.indexOf("id: 12\n") < events.indexOf("id: 13\n"));
+    }
+
+    @Test
+    void stream_WithoutLastEventId_ShouldOnlySendNewChanges() throws Exception {
+        dispatcher.start();
+        buffer.append(messages(11));
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.append(messages(12));
+        });
+
+        String events = streamUntil(null, "id: 12\n");
+
+        assertFalse(events.contains("id: 11\n"));
+    }
+
+    @Test
+    void stream_WithoutLastEventIdBeforeFirstPoll_ShouldStartAfterNewestChange() throws Exception {
+        when(deviceChangeRepository.findByPositionGreaterThanAndPositionLessThanEqualOrderByPositionAsc(
+                eq(0L), eq(10L), any(Limit.class)))
+                .thenReturn(List.of(DeviceChange.builder()
+                        .id(50L).position(5L).type(DeviceChangeType.DELETED).deviceId(3L).build()));
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            dispatcher.dispatch();
+            buffer.append(messages(11));
+        });
+
+        String events = streamUntil(null, "id: 11\n");
+
+        assertFalse(events.contains("id: 5\n"));
+    }
+
+    /**
+     * Runs the feed until {@code marker} was written, then closes the buffer to end the stream.
+     */
+    private String streamUntil(Long lastEventId, String marker) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void flush() {
+                if (toString(StandardCharsets.UTF_8).contains(marker)) {
+                    buffer.close();
+                }
+            }
+        };
+        Thread subscriber = Thread.ofVirtual().start(() -> {
+            try {
+                feed.stream(lastEventId, out);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        subscriber.join(5000);
+        assertFalse(subscriber.isAlive(), "feed did not end");
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.deviceapi.feed;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceChangeMessage;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceChange;
+import com.example.deviceapi.entity.DeviceChangeHead;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.mapper.DeviceMapperImpl;
+import com.example.deviceapi.repository.DeviceChangeHeadRepository;
+import com.example.deviceapi.repository.DeviceChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DeviceOutbox.class, DeviceMapperImpl.class, DeviceChangeDispatcher.class, DeviceChangeBuffer.class,
+        DeviceProperties.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class DeviceOutboxTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeviceChangeRepository deviceChangeRepository;
+
+    @Autowired
+    private DeviceChangeHeadRepository deviceChangeHeadRepository;
+
+    @Autowired
+    private DeviceChangeDispatcher dispatcher;
+
+    @Autowired
+    private DeviceChangeBuffer buffer;
+
+    private final Device device = Device.builder()
+            .id(7L).name("iPhone 16").brand("Apple").state(DeviceState.AVAILABLE).version(0L).build();
+
+    @Test
+    void onDeviceChanged_ShouldWriteOutboxRowsInTheCurrentTransaction() {
+        eventPublisher.publishEvent(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device));
+        eventPublisher.publishEvent(new DeviceChangedEvent(DeviceChangeType.DELETED, device, null));
+
+        List<DeviceChange> changes = deviceChangeRepository.findAll(Sort.by("id"));
+        assertEquals(2, changes.size());
+        assertEquals(DeviceChangeType.CREATED, changes.getFirst().getType());
+        assertTrue(changes.getFirst().getPayload().contains("\"name\":\"iPhone 16\""));
+        assertNotNull(changes.getFirst().getCreatedAt());
+        assertEquals(7L, changes.getLast().getDeviceId());
+        assertNull(changes.getLast().getPayload());
+        assertTrue(changes.stream().allMatch(change -> change.getPosition() == null));
+    }
+
+    @Test
+    void dispatch_ShouldNumberOutboxRowsAndAppendThem() {
+        dispatcher.start();
+        eventPublisher.publishEvent(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device));
+        eventPublisher.publishEvent(new DeviceChangedEvent(DeviceChangeType.DELETED, device, null));
+
+        dispatcher.dispatch();
+
+        List<DeviceChangeMessage> messages = buffer.readAfter(0, 10);
+        assertEquals(List.of(1L, 2L), messages.stream().map(DeviceChangeMessage::getId).toList());
+        assertEquals(DeviceChangeType.DELETED, messages.getLast().getType());
+        assertEquals(2L, deviceChangeHeadRepository.findById(DeviceChangeHead.ID).orElseThrow().getLastPosition());
+    }
+}
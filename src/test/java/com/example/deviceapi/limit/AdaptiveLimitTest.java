@@ -0,0 +1,65 @@
+package com.example.deviceapi.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest {
+
+    private static final long THRESHOLD = 100;
+
+    @Test
+    void tryAcquire_ShouldAdmitUpToShareOfLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 10, THRESHOLD, 0.5);
+
+        assertTrue(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(0.5));
+        assertFalse(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(1.0));
+        assertTrue(limit.tryAcquire(1.0));
+        assertFalse(limit.tryAcquire(1.0));
+        assertTrue(limit.isSaturated());
+    }
+
+    @Test
+    void fastRequestsUnderLoad_ShouldRaiseLimitUpToMax() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 3, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(0, 10, false);
+        }
+
+        assertEquals(3, limit.getLimit());
+        assertEquals(1, limit.getIncreases());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void slowOrDroppedRequests_ShouldBackOffOncePerBurst() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 10, THRESHOLD, 0.5);
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+
+        // Both started before the first decrease took effect
+        limit.release(0, 500, false);
+        limit.release(10, 600, true);
+        assertEquals(4, limit.getLimit());
+
+        limit.release(700, 900, false);
+        assertEquals(2, limit.getLimit());
+        assertEquals(2, limit.getDecreases());
+    }
+
+    @Test
+    void backOff_ShouldStopAtMin() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 2, 10, THRESHOLD, 0.5);
+        limit.tryAcquire(1.0);
+
+        limit.release(0, 500, true);
+
+        assertEquals(2, limit.getLimit());
+        assertEquals(0, limit.getDecreases());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.deviceapi.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final long THRESHOLD = Duration.ofSeconds(10).toNanos();
+
+    private final AdaptiveLimit reads = new AdaptiveLimit(4, 1, 10, THRESHOLD, 0.9);
+    private final AdaptiveLimit writes = new AdaptiveLimit(2, 1, 10, THRESHOLD, 0.9);
+    private final AdaptiveLimit bulkWrites = new AdaptiveLimit(2, 1, 2, THRESHOLD, 0.9);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(reads, writes, bulkWrites, 0.5,
+            Duration.ofSeconds(2), new ObjectMapper().findAndRegisterModules(), registry);
+
+    @Test
+    void classify_ShouldSeparateWritesLookupsAndBulkReads() {
+        assertEquals(ConcurrencyLimitFilter.Traffic.WRITE, classify("POST", "/api/devices"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.WRITE, classify("PATCH", "/api/devices/7"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.WRITE, classify("DELETE", "/api/devices/7"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_WRITE, classify("POST", "/api/devices/batch"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_WRITE, classify("POST", "/api/devices/transitions"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_WRITE, classify("DELETE", "/api/devices"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.READ, classify("GET", "/api/devices/7"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.READ, classify("GET", "/api/devices/stats"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_READ, classify("GET", "/api/devices"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_READ, classify("GET", "/api/devices/search"));
+        assertEquals(ConcurrencyLimitFilter.Traffic.BULK_READ, classify("GET", "/api/devices/export"));
+    }
+
+    @Test
+    void request_ShouldHoldSlotOnlyWhileRunning() throws Exception {
+        FilterChain chain = (req, res) -> assertEquals(1, writes.getInFlight());
+
+        MockHttpServletResponse response = run("POST", "/api/devices", chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, writes.getInFlight());
+        assertEquals(0, reads.getInFlight());
+    }
+
+    @Test
+    void overLimit_ShouldRejectWith503AndRetryAfter() throws Exception {
+        writes.tryAcquire(1.0);
+        writes.tryAcquire(1.0);
+
+        MockHttpServletResponse response = run("PUT", "/api/devices/1", (req, res) -> fail("must not be called"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertEquals(1, registry.get("device.limit.rejected").tag("traffic", "write").counter().count());
+    }
+
+    @Test
+    void bulkReads_ShouldYieldToLookupsAndSaturatedWrites() throws Exception {
+        reads.tryAcquire(1.0);
+        reads.tryAcquire(1.0);
+        assertEquals(503, run("GET", "/api/devices", (req, res) -> { }).getStatus());
+        assertEquals(200, run("GET", "/api/devices/1", (req, res) -> { }).getStatus());
+        reads.release();
+
+        writes.tryAcquire(1.0);
+        writes.tryAcquire(1.0);
+        assertEquals(503, run("GET", "/api/devices/search", (req, res) -> { }).getStatus());
+        assertEquals(2, registry.get("device.limit.rejected").tag("traffic", "bulk_read").counter().count());
+    }
+
+    @Test
+    void bulkWrites_ShouldUseTheirOwnLimitAndYieldToSaturatedWrites() throws Exception {
+        FilterChain slow = (req, res) -> {
+            assertEquals(1, bulkWrites.getInFlight());
+            assertEquals(0, writes.getInFlight());
+        };
+        assertEquals(200, run("POST", "/api/devices/transitions", slow).getStatus());
+
+        bulkWrites.tryAcquire(1.0);
+        bulkWrites.tryAcquire(1.0);
+        assertEquals(503, run("POST", "/api/devices/batch", (req, res) -> { }).getStatus());
+        assertEquals(200, run("POST", "/api/devices", (req, res) -> { }).getStatus());
+        bulkWrites.release();
+        bulkWrites.release();
+
+        while (writes.tryAcquire(1.0)) {
+            // Saturate the write limit, which the single create above has raised
+        }
+        assertEquals(503, run("DELETE", "/api/devices", (req, res) -> { }).getStatus());
+        assertEquals(2, registry.get("device.limit.rejected").tag("traffic", "bulk_write").counter().count());
+    }
+
+    @Test
+    void bulkWriteErrors_ShouldOnlyMakeTheBulkLimitBackOff() throws Exception {
+        run("POST", "/api/devices/batch", (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+
+        assertEquals(1, bulkWrites.getDecreases());
+        assertEquals(0, writes.getDecreases());
+    }
+
+    @Test
+    void serverError_ShouldMakeLimitBackOff() throws Exception {
+        run("POST", "/api/devices", (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+
+        assertEquals(1, writes.getDecreases());
+    }
+
+    @Test
+    void changeFeed_ShouldNotBeLimited() throws Exception {
+        reads.tryAcquire(1.0);
+        reads.tryAcquire(1.0);
+        reads.tryAcquire(1.0);
+        reads.tryAcquire(1.0);
+
+        assertEquals(200, run("GET", "/api/devices/changes", (req, res) -> { }).getStatus());
+    }
+
+    private MockHttpServletResponse run(String method, String uri, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    private static ConcurrencyLimitFilter.Traffic classify(String method, String uri) {
+        return ConcurrencyLimitFilter.classify(new MockHttpServletRequest(method, uri));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.deviceapi.perf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the application on an embedded H2 database, seeds it and drives a
+ * configurable mix of create, get-by-id, filtered list, patch and delete requests from many
+ * concurrent clients, then prints throughput and latency percentiles per endpoint and writes the
+ * full histograms to {@code target/loadtest}. Not part of the regular test run:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=DeviceLoadTestIT -Dperf.devices=50000 -Dperf.mix=get=70,list=15,create=8,patch=5,delete=2
+ * </pre>
+ *
+ * Gets and patches target seeded devices; deletes only remove devices created during the run, so
+ * the readable dataset keeps its size.
+ */
+class DeviceLoadTestIT {
+
+    private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 100);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("perf.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT20S"));
+    private static final int DEVICES = Integer.getInteger("perf.devices", 10_000);
+    private static final int BRANDS = Integer.getInteger("perf.brands", 20);
+    private static final WorkloadMix MIX = WorkloadMix.parse(
+            System.getProperty("perf.mix", "get=60,list=20,create=10,patch=8,delete=2"));
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("perf.virtualThreads");
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.reportDir", "target/loadtest"));
+
+    private static final String[] STATES = {"available", "inactive"};
+    private static final String[] STATE_NAMES = {"AVAILABLE", "INACTIVE"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private URI base;
+    private List<Long> seeded;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestApplication.start("loadtest",
+                "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                "device.datasource.admission.enabled=" + VIRTUAL_THREADS)) {
+            base = LoadTestApplication.baseUri(context);
+            seeded = LoadTestApplication.seed(client, base, DEVICES, BRANDS);
+
+            LoadDriver.run(client, CONCURRENCY, WARMUP, this::nextOperation);
+            Map<String, LoadDriver.Result> results = LoadDriver.run(client, CONCURRENCY, DURATION, this::nextOperation);
+
+            System.out.printf("%nLoad test: %d clients, %s, %d devices, mix %s, %s threads%n",
+                    CONCURRENCY, DURATION, DEVICES, MIX, VIRTUAL_THREADS ? "virtual" : "platform");
+            results.values().forEach(result -> System.out.println("  " + LoadDriver.format(result)));
+            LoadDriver.writeHistograms(results, REPORT_DIR);
+            System.out.println("Histograms written to " + REPORT_DIR.toAbsolutePath());
+
+            assertTrue(results.get("total").count() > 0);
+        }
+    }
+
+    private LoadDriver.Operation nextOperation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (MIX.next(random)) {
+            case CREATE -> create();
+            case GET -> new LoadDriver.Operation("get-by-id",
+                    HttpRequest.newBuilder(base.resolve("/api/devices/" + randomSeeded(random))).GET().build());
+            case LIST -> list(random);
+            case PATCH -> new LoadDriver.Operation("patch",
+                    HttpRequest.newBuilder(base.resolve("/api/devices/" + randomSeeded(random)))
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                    "{\"state\":\"" + STATE_NAMES[random.nextInt(STATE_NAMES.length)] + "\"}"))
+                            .build());
+            case DELETE -> {
+                Long id = created.poll();
+                yield id == null ? create() : new LoadDriver.Operation("delete",
+                        HttpRequest.newBuilder(base.resolve("/api/devices/" + id)).DELETE().build());
+            }
+        };
+    }
+
+    private LoadDriver.Operation create() {
+        long n = sequence.incrementAndGet();
+        String body = "{\"name\":\"Load " + n + "\",\"brand\":\"Brand " + (n % BRANDS) + "\"}";
+        return new LoadDriver.Operation("create",
+                HttpRequest.newBuilder(base.resolve("/api/devices"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                response -> created.add(LoadTestApplication.readId(response)));
+    }
+
+    private LoadDriver.Operation list(ThreadLocalRandom random) {
+        String brand = "Brand%20" + random.nextInt(BRANDS);
+        String query = switch (random.nextInt(3)) {
+            case 0 -> "brand=" + brand;
+            case 1 -> "brand=" + brand + "&state=" + STATES[random.nextInt(STATES.length)];
+            default -> "namePrefix=Device%20" + random.nextInt(10) + "&sort=creationTime";
+        };
+        return new LoadDriver.Operation("list",
+                HttpRequest.newBuilder(base.resolve("/api/devices?limit=50&" + query)).GET().build());
+    }
+
+    private long randomSeeded(ThreadLocalRandom random) {
+        return seeded.get(random.nextInt(seeded.size()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.deviceapi.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} virtual-thread clients each send the next
+ * request from the workload as soon as the previous one completes, for a fixed duration.
+ * Latencies are recorded per operation in HdrHistograms.
+ */
+final class LoadDriver {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * One request to send. {@code onSuccess}, when present, receives the response body of a
+     * successful (non-4xx/5xx) response, e.g. to remember the id of a created device.
+     */
+    record Operation(String name, HttpRequest request, Consumer<String> onSuccess) {
+
+        Operation(String name, HttpRequest request) {
+            this(name, request, null);
+        }
+    }
+
+    record Result(String operation, long count, long errors, double throughput,
+                  double p50Millis, double p90Millis, double p99Millis, double maxMillis, Histogram histogram) {
+    }
+
+    private LoadDriver() {
+    }
+
+    static Map<String, Result> run(HttpClient client, int concurrency, Duration duration,
+                                   Supplier<Operation> workload) throws InterruptedException {
+        Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = workload.get();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        String body = null;
+                        try {
+                            if (operation.onSuccess() == null) {
+                                ok = client.send(operation.request(), HttpResponse.BodyHandlers.discarding())
+                                        .statusCode() < 400;
+                            } else {
+                                HttpResponse<String> response =
+                                        client.send(operation.request(), HttpResponse.BodyHandlers.ofString());
+                                ok = response.statusCode() < 400;
+                                body = response.body();
+                            }
+                        } catch (Exception ex) {
+                            ok = false;
+                        }
+                        long micros = Math.min((System.nanoTime() - start) / 1_000, MAX_TRACKABLE_MICROS);
+                        histograms.computeIfAbsent(operation.name(),
+                                name -> new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3)).recordValue(micros);
+                        if (!ok) {
+                            errors.computeIfAbsent(operation.name(), name -> new LongAdder()).increment();
+                        } else if (body != null) {
+                            operation.onSuccess().accept(body);
+                        }
+                    }
+                });
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, Result> results = new TreeMap<>();
+        Histogram total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            long operationErrors = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            results.put(entry.getKey(), toResult(entry.getKey(), entry.getValue(), operationErrors, seconds));
+            total.add(entry.getValue());
+            totalErrors += operationErrors;
+        }
+        results.put("total", toResult("total", total, totalErrors, seconds));
+        return results;
+    }
+
+    static String format(Result result) {
+        return String.format("%-14s %9d req %7d err %10.1f req/s   p50 %8.2f ms   p90 %8.2f ms   p99 %8.2f ms   max %8.2f ms",
+                result.operation(), result.count(), result.errors(), result.throughput(),
+                result.p50Millis(), result.p90Millis(), result.p99Millis(), result.maxMillis());
+    }
+
+    /**
+     * Writes the full latency distribution of each operation to {@code <directory>/<operation>.hgrm}
+     * (milliseconds), in the format understood by the HdrHistogram plotter.
+     */
+    static void writeHistograms(Map<String, Result> results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Result result : results.values()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(result.operation() + ".hgrm")))) {
+                result.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static Result toResult(String name, Histogram histogram, long errors, double seconds) {
+        return new Result(name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                histogram);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.deviceapi.perf;
+
+import com.example.deviceapi.DeviceapiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Starts the application on a random port against a private in-memory H2 database and seeds it
+ * through the public API, so load tests exercise the same path as real clients.
+ */
+final class LoadTestApplication {
+
+    private static final int SEED_CHUNK = 1000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadTestApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DeviceapiApplication.class)
+                .profiles("test")
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    /**
+     * Creates {@code count} devices spread over {@code brands} brands via the bulk endpoint and
+     * returns their ids in creation order.
+     */
+    static List<Long> seed(HttpClient client, URI base, int count, int brands) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += SEED_CHUNK) {
+            StringJoiner devices = new StringJoiner(",", "{\"devices\":[", "]}");
+            for (int i = start; i < Math.min(start + SEED_CHUNK, count); i++) {
+                devices.add("{\"name\":\"Device " + i + "\",\"brand\":\"Brand " + (i % brands) + "\"}");
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/api/devices/batch"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(devices.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode id : MAPPER.readTree(response.body()).get("ids")) {
+                ids.add(id.asLong());
+            }
+        }
+        return ids;
+    }
+
+    static long readId(String deviceJson) {
+        try {
+            return MAPPER.readTree(deviceJson).get("id").asLong();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unexpected device response: " + deviceJson, ex);
+        }
+    }
+}
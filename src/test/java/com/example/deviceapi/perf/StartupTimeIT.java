@@ -0,0 +1,218 @@
+package com.example.deviceapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures time to first request: from launching a JVM on the packaged application until
+ * {@code GET /api/devices} answers 200, in plain JVM mode, with a CDS archive and, if the jar was
+ * built with {@code -Paot}, with Spring AOT. Every run is a fresh process on an in-memory H2
+ * database in PostgreSQL mode, with the Flyway migrations and schema validation of production.
+ * Prints min and median per mode and appends every run to {@code target/startup/startup-times.csv}.
+ * Not part of the regular test run:
+ *
+ * <pre>
+ * ./mvnw -DskipTests package [-Paot]
+ * ./mvnw test -Dtest=StartupTimeIT -Dperf.startup.runs=5
+ * </pre>
+ */
+class StartupTimeIT {
+
+    private static final int RUNS = Integer.getInteger("perf.startup.runs", 5);
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("perf.startup.timeout", "PT90S"));
+    private static final Path JAR = Path.of(System.getProperty("perf.startup.jar",
+            "target/deviceapi-0.0.1-SNAPSHOT.jar"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("perf.reportDir", "target/startup"));
+
+    private static final String AOT_INITIALIZER = "com/example/deviceapi/DeviceapiApplication__ApplicationContextInitializer.class";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void measureTimeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(JAR), "Package the application first: ./mvnw -DskipTests package");
+        Files.createDirectories(REPORT_DIR);
+        Path appJar = extract();
+        String classpath = appJar + File.pathSeparator + h2Jar();
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jvm", List.of());
+        modes.put("cds", List.of("-XX:SharedArchiveFile=" + train(classpath, "jvm", List.of())));
+        if (hasAotClasses(appJar)) {
+            List<String> aot = List.of("-Dspring.aot.enabled=true");
+            modes.put("aot", aot);
+            modes.put("aot+cds", List.of("-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + train(classpath, "aot", aot)));
+        }
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        for (int run = 0; run < RUNS; run++) {
+            // Interleaved, so that drifting machine load affects every mode alike
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                long millis = timeToFirstRequest(classpath, mode.getKey(), mode.getValue()).toMillis();
+                results.computeIfAbsent(mode.getKey(), key -> new ArrayList<>()).add(millis);
+            }
+        }
+
+        report(results);
+        results.values().forEach(times -> assertEquals(RUNS, times.size()));
+    }
+
+    private Path extract() throws Exception {
+        Path destination = REPORT_DIR.resolve("app");
+        run(List.of(java(), "-Djarmode=tools", "-jar", JAR.toString(),
+                "extract", "--force", "--destination", destination.toString()));
+        return destination.resolve(JAR.getFileName());
+    }
+
+    /**
+     * Records which classes a start loads into a CDS archive, the same way the {@code cds}
+     * profile does: the context is refreshed and the JVM exits before serving.
+     */
+    private Path train(String classpath, String name, List<String> jvmArgs) throws Exception {
+        Path archive = REPORT_DIR.resolve(name + ".jsa").toAbsolutePath();
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        command.addAll(jvmArgs);
+        command.addAll(application(classpath, freePort()));
+        run(command);
+        return archive;
+    }
+
+    private Duration timeToFirstRequest(String classpath, String mode, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java()));
+        command.addAll(jvmArgs);
+        command.addAll(application(classpath, port));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/devices?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(REPORT_DIR.resolve(mode + ".log").toFile())
+                .start();
+        try {
+            while (true) {
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                if (!process.isAlive()) {
+                    fail(mode + " exited with " + process.exitValue() + ", see " + REPORT_DIR.resolve(mode + ".log"));
+                }
+                if (elapsed.compareTo(TIMEOUT) > 0) {
+                    fail(mode + " did not answer within " + TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // Keep polling
+                }
+                Thread.sleep(5);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> application(String classpath, int port) {
+        return List.of("-cp", classpath, "com.example.deviceapi.DeviceapiApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.deviceapi=WARN");
+    }
+
+    private void report(Map<String, List<Long>> results) throws IOException {
+        Path csv = REPORT_DIR.resolve("startup-times.csv");
+        List<String> rows = new ArrayList<>();
+        if (!Files.exists(csv)) {
+            rows.add("timestamp,jar,mode,run,millis");
+        }
+        String timestamp = Instant.now().toString();
+
+        System.out.printf("%nTime to first request over %d runs (%s)%n", RUNS, JAR.getFileName());
+        System.out.printf("%-8s %8s %8s %8s%n", "mode", "min ms", "p50 ms", "max ms");
+        results.forEach((mode, times) -> {
+            for (int run = 0; run < times.size(); run++) {
+                rows.add(String.join(",", timestamp, JAR.getFileName().toString(), mode,
+                        Integer.toString(run + 1), Long.toString(times.get(run))));
+            }
+            long[] sorted = times.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-8s %8d %8d %8d%n", mode, sorted[0], sorted[sorted.length / 2],
+                    sorted[sorted.length - 1]);
+        });
+
+        Files.write(csv, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.println("Runs appended to " + csv.toAbsolutePath());
+    }
+
+    private static boolean hasAotClasses(Path appJar) throws IOException {
+        try (JarFile jar = new JarFile(appJar.toFile())) {
+            return jar.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    /**
+     * The application jar leaves out test-scoped dependencies, so H2 comes from the test class path.
+     */
+    private static String h2Jar() {
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        return Arrays.stream(classpath.split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 is not on the test class path"));
+    }
+
+    private static void run(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(REPORT_DIR.resolve("setup.log").toFile())
+                .start();
+        if (!process.waitFor(5, TimeUnit.MINUTES) || process.exitValue() != 0) {
+            process.destroyForcibly();
+            fail(String.join(" ", command) + " failed, see " + REPORT_DIR.resolve("setup.log"));
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
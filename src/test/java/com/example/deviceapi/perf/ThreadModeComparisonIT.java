@@ -0,0 +1,76 @@
+package com.example.deviceapi.perf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same read-heavy workload against the application once on platform threads and once on
+ * virtual threads with database admission control, and prints throughput and latency percentiles
+ * side by side. Not part of the regular test run:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=ThreadModeComparisonIT -Dperf.concurrency=400 -Dperf.duration=PT30S
+ * </pre>
+ */
+class ThreadModeComparisonIT {
+
+    private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 400);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("perf.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT20S"));
+    private static final int DEVICES = Integer.getInteger("perf.devices", 10_000);
+    private static final int PLATFORM_THREADS = Integer.getInteger("perf.platformThreads", 200);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Map<String, LoadDriver.Result> platform = runMode(false);
+        Map<String, LoadDriver.Result> virtual = runMode(true);
+
+        System.out.printf("%nThread mode comparison: %d clients, %s, %d devices%n", CONCURRENCY, DURATION, DEVICES);
+        System.out.println("platform threads (tomcat max " + PLATFORM_THREADS + "):");
+        platform.values().forEach(result -> System.out.println("  " + LoadDriver.format(result)));
+        System.out.println("virtual threads + admission control:");
+        virtual.values().forEach(result -> System.out.println("  " + LoadDriver.format(result)));
+
+        assertTrue(platform.get("total").count() > 0);
+        assertTrue(virtual.get("total").count() > 0);
+    }
+
+    private Map<String, LoadDriver.Result> runMode(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = LoadTestApplication.start(mode,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "device.datasource.admission.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + PLATFORM_THREADS)) {
+            URI base = LoadTestApplication.baseUri(context);
+            LoadTestApplication.seed(client, base, DEVICES, 20);
+
+            LoadDriver.run(client, CONCURRENCY, WARMUP, () -> nextOperation(base));
+            return LoadDriver.run(client, CONCURRENCY, DURATION, () -> nextOperation(base));
+        }
+    }
+
+    private LoadDriver.Operation nextOperation(URI base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < 80) {
+            long id = random.nextLong(1, DEVICES + 1);
+            return new LoadDriver.Operation("get-by-id",
+                    HttpRequest.newBuilder(base.resolve("/api/devices/" + id)).GET().build());
+        }
+        return new LoadDriver.Operation("list-by-brand",
+                HttpRequest.newBuilder(base.resolve("/api/devices?limit=50&brand=Brand%20" + random.nextInt(20)))
+                        .GET().build());
+    }
+}
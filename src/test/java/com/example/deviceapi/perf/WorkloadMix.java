@@ -0,0 +1,93 @@
+package com.example.deviceapi.perf;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of the device operations driven by the load test, parsed from a spec such as
+ * {@code get=60,list=20,create=10,patch=8,delete=2}. Weights are relative and need not add up to 100.
+ */
+final class WorkloadMix {
+
+    enum Kind {
+        CREATE("create"),
+        GET("get"),
+        LIST("list"),
+        PATCH("patch"),
+        DELETE("delete");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Kind fromKey(String key) {
+            for (Kind kind : values()) {
+                if (kind.key.equals(key)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in workload mix: " + key);
+        }
+    }
+
+    private final Map<Kind, Integer> weights;
+    private final Kind[] kinds;
+    private final int[] cumulative;
+
+    private WorkloadMix(Map<Kind, Integer> weights) {
+        this.weights = weights;
+        this.kinds = weights.keySet().toArray(Kind[]::new);
+        this.cumulative = new int[kinds.length];
+        int sum = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            sum += weights.get(kinds[i]);
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Workload mix must have at least one positive weight");
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Kind, Integer> weights = new EnumMap<>(Kind.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Workload mix weights must not be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Kind.fromKey(pair[0].trim().toLowerCase(Locale.ROOT)), weight);
+            }
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Kind next(RandomGenerator random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return kinds[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        weights.forEach((kind, weight) -> spec.append(spec.isEmpty() ? "" : ",").append(kind.key()).append('=').append(weight));
+        return spec.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.deviceapi.readmodel;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class DeviceReadModelTest {
+
+    private DeviceRepository deviceRepository;
+    private DeviceProperties deviceProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private DeviceReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        deviceRepository = mock(DeviceRepository.class);
+        deviceProperties = new DeviceProperties();
+        deviceProperties.getReadModel().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        readModel = new DeviceReadModel(deviceRepository, TransactionOperations.withoutTransaction(),
+                deviceProperties, meterRegistry);
+    }
+
+    @Test
+    void verify_ShouldLoadAllDevicesAndBecomeReady() {
+        when(deviceRepository.streamBy(any(), anyInt())).thenReturn(Stream.of(
+                device(1L, "iPhone 16", "Apple"), device(2L, "Pixel 9", "Google")));
+        assertFalse(readModel.isReady());
+
+        readModel.verify();
+
+        assertTrue(readModel.isReady());
+        assertEquals(2, readModel.size());
+        assertTrue(readModel.footprintBytes() > 0);
+        assertEquals(0, meterRegistry.get("device.read-model.drift").counter().count());
+    }
+
+    @Test
+    void verify_ShouldReplayChangesCommittedWhileReadingTheTable() {
+        Device pixel = device(2L, "Pixel 9", "Google");
+        when(deviceRepository.streamBy(any(), anyInt())).thenAnswer(invocation -> {
+            readModel.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(3L, "Galaxy S25", "Samsung")));
+            readModel.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, pixel, null));
+            return Stream.of(device(1L, "iPhone 16", "Apple"), pixel);
+        });
+
+        readModel.verify();
+
+        assertEquals(List.of(1L, 3L), readModel.page(DeviceFilter.none(), Long.MIN_VALUE, 10, DeviceField.all()).stream()
+                .map(DeviceResponse::getId).toList());
+    }
+
+    @Test
+    void verify_ShouldCountRowsTheOldCopyGotWrongAsDrift() {
+        Device iphone = device(1L, "iPhone 16", "Apple");
+        when(deviceRepository.streamBy(any(), anyInt()))
+                .thenReturn(Stream.of(iphone))
+                .thenReturn(Stream.of(iphone.toBuilder().version(1L).build(), device(2L, "Pixel 9", "Google")));
+
+        readModel.verify();
+        readModel.verify();
+
+        assertEquals(2, meterRegistry.get("device.read-model.drift").counter().count());
+        assertEquals(2, readModel.size());
+    }
+
+    @Test
+    void verify_WhenDisabled_ShouldStayNotReadyAndIgnoreEvents() {
+        deviceProperties.getReadModel().setEnabled(false);
+
+        readModel.verify();
+        readModel.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(1L, "iPhone 16", "Apple")));
+
+        assertFalse(readModel.isReady());
+        assertEquals(0, readModel.size());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void onDeviceChanged_UpdateDeliveredAfterDelete_ShouldNotResurrectDevice() {
+        Device pixel = device(2L, "Pixel 9", "Google");
+        Device renamed = pixel.toBuilder().name("Pixel 9 Pro").version(1L).build();
+        when(deviceRepository.streamBy(any(), anyInt())).thenReturn(Stream.of(device(1L, "iPhone 16", "Apple"), pixel));
+        readModel.verify();
+
+        readModel.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, renamed, null));
+        readModel.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, pixel, renamed));
+
+        assertEquals(List.of(1L), readModel.page(DeviceFilter.none(), Long.MIN_VALUE, 10, DeviceField.all()).stream()
+                .map(DeviceResponse::getId).toList());
+    }
+
+    private static Device device(long id, String name, String brand) {
+        return Device.builder().id(id).name(name).brand(brand).state(DeviceState.AVAILABLE).version(0L).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.deviceapi.readmodel;
+
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceTableTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+
+    private DeviceTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new DeviceTable();
+        table.put(device(3L, "Pixel 9", "Google", DeviceState.AVAILABLE));
+        table.put(device(1L, "iPhone 16", "Apple", DeviceState.IN_USE));
+        table.put(device(2L, "iPad Air", "apple", DeviceState.AVAILABLE));
+        table.put(device(4L, "Galaxy S25", "Samsung", DeviceState.INACTIVE));
+    }
+
+    @Test
+    void page_ShouldReturnRowsInIdOrderAfterCursor() {
+        assertEquals(List.of(1L, 2L), ids(table.page(DeviceFilter.none(), Long.MIN_VALUE, 2, DeviceField.all())));
+        assertEquals(List.of(3L, 4L), ids(table.page(DeviceFilter.none(), 2L, 10, DeviceField.all())));
+    }
+
+    @Test
+    void page_ShouldApplyEveryCriterion() {
+        DeviceFilter brand = DeviceFilter.builder().brand("APPLE").build();
+        DeviceFilter states = DeviceFilter.builder().state(List.of(DeviceState.AVAILABLE, DeviceState.INACTIVE)).build();
+        DeviceFilter combined = DeviceFilter.builder().brand("apple").state(List.of(DeviceState.AVAILABLE)).namePrefix("IPA").build();
+        DeviceFilter byIds = DeviceFilter.builder().ids(List.of(4L, 1L, 99L)).build();
+
+        assertEquals(List.of(1L, 2L), ids(table.page(brand, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertEquals(List.of(2L, 3L, 4L), ids(table.page(states, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertEquals(List.of(2L), ids(table.page(combined, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertEquals(List.of(1L, 4L), ids(table.page(byIds, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertTrue(table.page(DeviceFilter.builder().brand("Nokia").build(), Long.MIN_VALUE, 10, DeviceField.all()).isEmpty());
+    }
+
+    @Test
+    void page_ShouldFilterTimeRangesAndKeepMicrosecondPrecision() {
+        DeviceFilter from = DeviceFilter.builder().createdFrom(CREATED).build();
+        DeviceFilter to = DeviceFilter.builder().createdTo(CREATED).build();
+
+        List<DeviceResponse> page = table.page(from, Long.MIN_VALUE, 10, DeviceField.all());
+
+        assertEquals(4, page.size());
+        assertEquals(CREATED, page.getFirst().getCreationTime());
+        assertNull(page.getFirst().getUpdateTime());
+        assertTrue(table.page(to, Long.MIN_VALUE, 10, DeviceField.all()).isEmpty());
+    }
+
+    @Test
+    void page_ShouldOnlyFillRequestedFields() {
+        DeviceResponse response = table.page(DeviceFilter.none(), Long.MIN_VALUE, 1, DeviceField.parse("brand")).getFirst();
+
+        assertEquals(1L, response.getId());
+        assertEquals("Apple", response.getBrand());
+        assertNull(response.getName());
+        assertNull(response.getState());
+    }
+
+    @Test
+    void put_ShouldMoveUpdatedRowsBetweenIndexesAndIgnoreOlderVersions() {
+        table.put(device(3L, "Pixel 9", "Google", DeviceState.IN_USE).toBuilder().version(2L).build());
+        table.put(device(3L, "Pixel 8", "Google", DeviceState.AVAILABLE).toBuilder().version(1L).build());
+
+        DeviceFilter available = DeviceFilter.builder().state(List.of(DeviceState.AVAILABLE)).build();
+        DeviceFilter inUse = DeviceFilter.builder().state(List.of(DeviceState.IN_USE)).build();
+        assertEquals(List.of(2L), ids(table.page(available, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertEquals(List.of(1L, 3L), ids(table.page(inUse, Long.MIN_VALUE, 10, DeviceField.all())));
+        assertEquals("Pixel 9", table.page(DeviceFilter.builder().ids(List.of(3L)).build(), Long.MIN_VALUE, 1, DeviceField.all()).getFirst().getName());
+    }
+
+    @Test
+    void remove_ShouldHideRowUntilANewerVersionIsPut() {
+        table.remove(2L, 0L);
+
+        assertEquals(3, table.size());
+        assertEquals(List.of(1L), ids(table.page(DeviceFilter.builder().brand("apple").build(), Long.MIN_VALUE, 10, DeviceField.all())));
+
+        table.put(device(2L, "iPad Air", "Apple", DeviceState.AVAILABLE).toBuilder().version(1L).build());
+        assertEquals(4, table.size());
+    }
+
+    @Test
+    void put_AfterDeleteOfSameOrNewerVersion_ShouldNotResurrectRow() {
+        Device update = device(2L, "iPad Air 2", "Apple", DeviceState.IN_USE).toBuilder().version(3L).build();
+        Device created = device(6L, "Pixel 10", "Google", DeviceState.AVAILABLE);
+
+        // Events delivered out of commit order: the delete overtakes the update and the create
+        table.remove(2L, 3L);
+        table.put(update);
+        table.remove(6L, 0L);
+        table.put(created);
+
+        assertEquals(3, table.size());
+        assertEquals(List.of(1L, 3L, 4L), ids(table.page(DeviceFilter.none(), Long.MIN_VALUE, 10, DeviceField.all())));
+    }
+
+    @Test
+    void countDifferences_ShouldCountMissingExtraAndOutdatedRows() {
+        DeviceTable other = new DeviceTable();
+        other.put(device(1L, "iPhone 16", "Apple", DeviceState.IN_USE));
+        other.put(device(2L, "iPad Air", "apple", DeviceState.AVAILABLE).toBuilder().version(5L).build());
+        other.put(device(3L, "Pixel 9", "Google", DeviceState.AVAILABLE));
+        other.put(device(5L, "Nokia 3310", "Nokia", DeviceState.AVAILABLE));
+        other.remove(3L, 0L);
+
+        // 2 is outdated, 3 and 4 are missing, 5 is extra
+        assertEquals(4, table.countDifferences(other));
+        assertEquals(0, table.countDifferences(table));
+    }
+
+    private static Device device(long id, String name, String brand, DeviceState state) {
+        return Device.builder().id(id).name(name).brand(brand).state(state).version(0L).creationTime(CREATED).build();
+    }
+
+    private static List<Long> ids(List<DeviceResponse> page) {
+        return page.stream().map(DeviceResponse::getId).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class DeviceBatchInsertTest {
+
+    private static final int DEVICE_COUNT = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllInBatches_ShouldSendOneStatementPerBatch() {
+        List<Device> saved = deviceRepository.saveAllInBatches(devices(), BATCH_SIZE);
+
+        assertEquals(DEVICE_COUNT, saved.size());
+        assertTrue(saved.stream().allMatch(d -> d.getId() != null));
+        assertEquals(DEVICE_COUNT, statistics.getEntityInsertCount());
+
+        // inserts: N / batchSize, sequence calls: N / allocationSize (+1 for the pooled optimizer)
+        long expectedStatements = DEVICE_COUNT / BATCH_SIZE + DEVICE_COUNT / 50 + 1;
+        assertTrue(statistics.getPrepareStatementCount() <= expectedStatements,
+                "expected at most " + expectedStatements + " statements but was "
+                        + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void persistingOneByOne_ShouldSendOneStatementPerDevice() {
+        devices().forEach(device -> {
+            entityManager.persist(device);
+            entityManager.flush();
+        });
+
+        assertEquals(DEVICE_COUNT, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() >= DEVICE_COUNT);
+    }
+
+    private List<Device> devices() {
+        return IntStream.range(0, DEVICE_COUNT)
+                .mapToObj(i -> Device.builder()
+                        .name("Device " + i)
+                        .brand("Brand " + (i % 5))
+                        .state(DeviceState.AVAILABLE)
+                        .build())
+                .toList();
+    }
+}
@@ -1,14 +1,27 @@
 package com.example.deviceapi.repository;
 
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceSort;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.service.DeviceCursor;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +32,9 @@ class DeviceRepositoryTest {
     @Autowired
     private DeviceRepository deviceRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Device device1;
     private Device device2;
     private Device device3;
@@ -72,4 +88,216 @@ class DeviceRepositoryTest {
         assertEquals(device3.getName(), appleInactiveDevices.getFirst().getName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void findBySpecification_ShouldScrollByKeyset() {
+        Window<Device> first = deviceRepository.findBy(DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build()),
+                query -> query.sortBy(Sort.by("id")).limit(1).scroll(ScrollPosition.keyset()));
+
+        assertEquals(1, first.size());
+        assertTrue(first.hasNext());
+        assertEquals(device1.getId(), first.getContent().getFirst().getId());
+
+        Window<Device> second = deviceRepository.findBy(DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build()),
+                query -> query.sortBy(Sort.by("id")).limit(1).scroll(first.positionAt(0)));
+
+        assertEquals(1, second.size());
+        assertFalse(second.hasNext());
+        assertEquals(device3.getId(), second.getContent().getFirst().getId());
+    }
+
+    @Test
+    void findBySpecification_ShouldScrollByCreationTimeCursor() {
+        Sort order = Sort.by("creationTime", "id");
+        Window<Device> first = deviceRepository.findBy(DeviceSpecifications.matching(DeviceFilter.none()),
+                query -> query.sortBy(order).limit(2).scroll(ScrollPosition.keyset()));
+        String cursor = DeviceCursor.encode(DeviceSort.CREATION_TIME, first.getContent().getLast());
+
+        Window<Device> second = deviceRepository.findBy(DeviceSpecifications.matching(DeviceFilter.none()),
+                query -> query.sortBy(order).limit(2).scroll(DeviceCursor.decode(DeviceSort.CREATION_TIME, cursor)));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertEquals(device3.getId(), second.getContent().getFirst().getId());
+    }
+
+    @Test
+    void findProjected_ShouldSelectOnlyRequestedColumnsAfterKeyset() {
+        Set<DeviceField> columns = EnumSet.of(DeviceField.ID, DeviceField.STATE);
+        List<Tuple> first = deviceRepository.findProjected(DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build()),
+                columns, DeviceSort.ID, ScrollPosition.keyset(), 1);
+
+        assertEquals(1, first.size());
+        assertEquals(2, first.getFirst().getElements().size());
+        assertEquals(device1.getId(), first.getFirst().get("id", Long.class));
+        assertEquals(DeviceState.AVAILABLE, first.getFirst().get("state"));
+
+        String cursor = DeviceCursor.encode(DeviceSort.ID, first.getFirst().get("id", Long.class), null);
+        List<Tuple> second = deviceRepository.findProjected(DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build()),
+                columns, DeviceSort.ID, DeviceCursor.decode(DeviceSort.ID, cursor), 5);
+
+        assertEquals(1, second.size());
+        assertEquals(device3.getId(), second.getFirst().get("id", Long.class));
+    }
+
+    @Test
+    void findProjected_ShouldScrollByCreationTimeCursor() {
+        Set<DeviceField> columns = EnumSet.of(DeviceField.ID, DeviceField.CREATION_TIME);
+        List<Tuple> first = deviceRepository.findProjected(DeviceSpecifications.matching(DeviceFilter.none()),
+                columns, DeviceSort.CREATION_TIME, ScrollPosition.keyset(), 2);
+        Tuple last = first.getLast();
+        String cursor = DeviceCursor.encode(DeviceSort.CREATION_TIME, last.get("id", Long.class),
+                last.get("creationTime", LocalDateTime.class));
+
+        List<Tuple> second = deviceRepository.findProjected(DeviceSpecifications.matching(DeviceFilter.none()),
+                columns, DeviceSort.CREATION_TIME, DeviceCursor.decode(DeviceSort.CREATION_TIME, cursor), 2);
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertEquals(device3.getId(), second.getFirst().get("id", Long.class));
+    }
+
+    @Test
+    void findProjectedById_ShouldReturnEmptyForUnknownId() {
+        Set<DeviceField> columns = EnumSet.of(DeviceField.ID, DeviceField.NAME);
+
+        assertEquals("iPhone 16", deviceRepository.findProjectedById(device1.getId(), columns).orElseThrow().get("name"));
+        assertTrue(deviceRepository.findProjectedById(-1L, columns).isEmpty());
+    }
+
+    @Test
+    void findBySpecification_ShouldCombineBrandAndState() {
+        List<Device> devices = deviceRepository.findAll(DeviceSpecifications.matching(
+                DeviceFilter.builder().brand("APPLE").state(List.of(DeviceState.AVAILABLE)).build()));
+
+        assertEquals(1, devices.size());
+        assertEquals(device1.getName(), devices.getFirst().getName());
+    }
+
+    @Test
+    void findBySpecification_ShouldMatchMultipleStatesAndNamePrefix() {
+        DeviceFilter filter = DeviceFilter.builder()
+                .state(List.of(DeviceState.AVAILABLE, DeviceState.INACTIVE))
+                .namePrefix("mac")
+                .build();
+
+        List<Device> devices = deviceRepository.findAll(DeviceSpecifications.matching(filter));
+
+        assertEquals(1, devices.size());
+        assertEquals(device3.getName(), devices.getFirst().getName());
+    }
+
+    @Test
+    void findBySpecification_ShouldTreatLikeWildcardsLiterally() {
+        List<Device> devices = deviceRepository.findAll(
+                DeviceSpecifications.matching(DeviceFilter.builder().namePrefix("%").build()));
+
+        assertTrue(devices.isEmpty());
+    }
+
+    @Test
+    void findBySpecification_ShouldFilterByCreationTimeRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(3, deviceRepository.findAll(DeviceSpecifications.matching(
+                DeviceFilter.builder().createdFrom(now.minusHours(1)).createdTo(now.plusHours(1)).build())).size());
+        assertEquals(0, deviceRepository.findAll(DeviceSpecifications.matching(
+                DeviceFilter.builder().createdTo(now.minusHours(1)).build())).size());
+    }
+
+    @Test
+    void updateIfUnchanged_ShouldOnlyUpdateCurrentVersionOfDeviceNotInUse() {
+        LocalDateTime now = LocalDateTime.now();
+        Long version = device1.getVersion();
+
+        assertEquals(0, deviceRepository.updateIfUnchanged(device1.getId(), version + 1,
+                "Stale", "Apple", DeviceState.AVAILABLE, now));
+        assertEquals(0, deviceRepository.updateIfUnchanged(device2.getId(), device2.getVersion(),
+                "In use", "Samsung", DeviceState.AVAILABLE, now));
+        assertEquals(1, deviceRepository.updateIfUnchanged(device1.getId(), version,
+                "iPhone 16 Pro", "Apple", DeviceState.INACTIVE, now));
+
+        Device updated = deviceRepository.findById(device1.getId()).orElseThrow();
+        assertEquals("iPhone 16 Pro", updated.getName());
+        assertEquals(DeviceState.INACTIVE, updated.getState());
+        assertEquals(version + 1, updated.getVersion());
+    }
+
+    @Test
+    void transitionState_ShouldSkipDevicesInUseOrAlreadyInTargetState() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = deviceRepository.transitionState(
+                List.of(device1.getId(), device2.getId(), device3.getId()), DeviceState.INACTIVE, now);
+
+        assertEquals(1, updated);
+        Device transitioned = deviceRepository.findById(device1.getId()).orElseThrow();
+        assertEquals(DeviceState.INACTIVE, transitioned.getState());
+        assertEquals(device1.getVersion() + 1, transitioned.getVersion());
+        assertEquals(DeviceState.IN_USE, deviceRepository.findById(device2.getId()).orElseThrow().getState());
+        assertEquals(device3.getVersion(), deviceRepository.findById(device3.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void deleteNotInUse_ShouldKeepDevicesInUse() {
+        int deleted = deviceRepository.deleteNotInUse(List.of(device1.getId(), device2.getId()));
+
+        assertEquals(1, deleted);
+        assertFalse(deviceRepository.existsById(device1.getId()));
+        assertTrue(deviceRepository.existsById(device2.getId()));
+    }
+
+    @Test
+    void lockChunk_ShouldReturnMatchingDevicesAfterIdInIdOrder() {
+        var spec = DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build());
+
+        List<Device> first = deviceRepository.lockChunk(spec, null, 1);
+        List<Device> second = deviceRepository.lockChunk(spec, first.getLast().getId(), 5);
+
+        assertEquals(List.of(device1.getId()), first.stream().map(Device::getId).toList());
+        assertEquals(List.of(device3.getId()), second.stream().map(Device::getId).toList());
+        assertTrue(deviceRepository.lockChunk(spec, device3.getId(), 5).isEmpty());
+    }
+
+    @Test
+    void findBySpecification_ShouldFilterByIds() {
+        List<Device> devices = deviceRepository.findAll(DeviceSpecifications.matching(
+                DeviceFilter.builder().ids(List.of(device2.getId(), device3.getId())).build()));
+
+        assertEquals(2, devices.size());
+    }
+
+    @Test
+    void findStatusById_ShouldReturnVersionAndState() {
+        DeviceStatusView status = deviceRepository.findStatusById(device2.getId()).orElseThrow();
+
+        assertEquals(device2.getVersion(), status.getVersion());
+        assertEquals(DeviceState.IN_USE, status.getState());
+        assertTrue(deviceRepository.findStatusById(-1L).isEmpty());
+    }
+
+    @Test
+    void countByBrandAndState_ShouldGroupDevices() {
+        List<DeviceCountView> counts = deviceRepository.countByBrandAndState();
+
+        assertEquals(3, counts.size());
+        assertTrue(counts.stream().anyMatch(row -> row.getBrand().equals("Apple")
+                && row.getState() == DeviceState.INACTIVE && row.getCount() == 1));
+    }
+
+    @Test
+    void findVersionById_ShouldReturnOnlyTheVersion() {
+        assertEquals(device1.getVersion(), deviceRepository.findVersionById(device1.getId()).orElseThrow());
+        assertTrue(deviceRepository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    void streamBy_ShouldStreamDetachedDevicesInIdOrder() {
+        try (Stream<Device> stream = deviceRepository.streamBy(DeviceSpecifications.matching(DeviceFilter.builder().brand("apple").build()), 1)) {
+            List<Device> devices = stream.toList();
+
+            assertEquals(List.of(device1.getId(), device3.getId()), devices.stream().map(Device::getId).toList());
+            assertTrue(devices.stream().noneMatch(entityManager.getEntityManager()::contains));
+        }
+    }
+
+}
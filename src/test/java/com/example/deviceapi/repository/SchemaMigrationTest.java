@@ -0,0 +1,81 @@
+package com.example.deviceapi.repository;
+
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema from the Flyway migrations instead of the entities, and lets Hibernate
+ * validate the entities against it, as production startup does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Test
+    void migrations_ShouldCreateSchemaMatchingEntities() {
+        assertEquals("2.1", flyway.info().current().getVersion().getVersion());
+
+        Device saved = deviceRepository.saveAndFlush(Device.builder()
+                .name("iPhone 16")
+                .brand("Apple")
+                .state(DeviceState.AVAILABLE)
+                .build());
+
+        assertNotNull(saved.getId());
+        assertNotNull(saved.getCreationTime());
+    }
+
+    @Test
+    void migrate_ShouldUpgradeDatabaseCreatedBeforeMigrations() throws SQLException {
+        String url = "jdbc:h2:mem:legacy;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // As left behind by ddl-auto: update, without a migration history
+            statement.execute("create table device (id bigint generated by default as identity, "
+                    + "brand varchar(255) not null, creation_time timestamp(6), name varchar(255) not null, "
+                    + "state varchar(255) not null, update_time timestamp(6), version bigint, primary key (id))");
+            statement.execute("insert into device (brand, name, state, version) values ('Apple', 'iPhone 15', 'AVAILABLE', 0)");
+
+            MigrateResult result = Flyway.configure()
+                    .dataSource(url, "sa", "")
+                    .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+
+            assertEquals("2.1", result.targetSchemaVersion);
+            try (ResultSet rows = statement.executeQuery("select count(*) from device_change")) {
+                assertTrue(rows.next());
+            }
+            // The pooled optimizer hands out the 50 ids up to the value drawn
+            try (ResultSet rows = statement.executeQuery("select nextval('device_seq')")) {
+                assertTrue(rows.next());
+                assertTrue(rows.getLong(1) - 49 > 1, "next device id collides with an existing one");
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.deviceapi.search;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class DeviceSearchIndexTest {
+
+    private DeviceRepository deviceRepository;
+    private DeviceProperties deviceProperties;
+    private DeviceSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        deviceRepository = mock(DeviceRepository.class);
+        deviceProperties = new DeviceProperties();
+        searchIndex = new DeviceSearchIndex(deviceRepository, TransactionOperations.withoutTransaction(),
+                deviceProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rebuild_ShouldLoadAllDevicesAndBecomeReady() {
+        when(deviceRepository.streamBy(any(), anyInt())).thenReturn(Stream.of(
+                device(1L, "iPhone 16", "Apple"), device(2L, "Pixel 9", "Google")));
+        assertFalse(searchIndex.isReady());
+
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(2, searchIndex.size());
+        assertEquals(List.of(2L), searchIndex.search("  PIXEL ", 10));
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesCommittedWhileReadingTheTable() {
+        Device pixel = device(2L, "Pixel 9", "Google");
+        when(deviceRepository.streamBy(any(), anyInt())).thenAnswer(invocation -> {
+            searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(3L, "Galaxy S25", "Samsung")));
+            searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, pixel, null));
+            return Stream.of(device(1L, "iPhone 16", "Apple"), pixel);
+        });
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of(3L), searchIndex.search("galaxy", 10));
+        assertTrue(searchIndex.search("pixel", 10).isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void rebuild_WhenDisabled_ShouldStayNotReady() {
+        deviceProperties.getSearch().setEnabled(false);
+
+        searchIndex.rebuild();
+
+        assertFalse(searchIndex.isReady());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void onDeviceChanged_WhenDisabled_ShouldLeaveIndexEmpty() {
+        deviceProperties.getSearch().setEnabled(false);
+        Device iphone = device(1L, "iPhone 16", "Apple");
+
+        searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, iphone));
+        searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device(2L, "Pixel 9", "Google")));
+        searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, iphone, null));
+
+        assertEquals(0, searchIndex.size());
+        assertTrue(searchIndex.search("pixel", 10).isEmpty());
+    }
+
+    @Test
+    void onDeviceChanged_ShouldFollowUpdates() {
+        Device before = device(1L, "iPhone 16", "Apple");
+        Device after = before.toBuilder().name("iPhone 16e").version(1L).build();
+
+        searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, before));
+        searchIndex.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, before, after));
+
+        assertEquals(List.of(1L), searchIndex.search("16e", 10));
+        assertEquals(1, searchIndex.size());
+    }
+
+    private static Device device(Long id, String name, String brand) {
+        return Device.builder().id(id).name(name).brand(brand).state(DeviceState.AVAILABLE).version(0L).build();
+    }
+}
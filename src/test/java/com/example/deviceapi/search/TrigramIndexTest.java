@@ -0,0 +1,75 @@
+package com.example.deviceapi.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, 0, "iPhone 16 Pro", "Apple");
+        index.put(2, 0, "iPhone 16", "Apple");
+        index.put(3, 0, "Galaxy Phone", "Samsung");
+        index.put(4, 0, "Pixel 9", "Google");
+        index.put(5, 0, "Macbook Pro", "Apple");
+    }
+
+    @Test
+    void search_ShouldRankWordPrefixBeforeSubstringAndShorterNamesFirst() {
+        assertEquals(List.of(2L, 1L), index.search("iphone", 10));
+        assertEquals(List.of(3L, 2L, 1L), index.search("phone", 10));
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsOfNameAndBrand() {
+        assertEquals(List.of(2L, 5L, 1L), index.search("apple", 10));
+        assertEquals(List.of(4L), index.search("oogl", 10));
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixesForShortQueries() {
+        assertEquals(List.of(5L, 1L), index.search("pr", 10));
+        assertEquals(List.of(4L, 5L, 3L, 1L), index.search("p", 10));
+        assertTrue(index.search("ho", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldCapResultsKeepingTheBest() {
+        assertEquals(List.of(2L), index.search("iphone", 1));
+    }
+
+    @Test
+    void put_ShouldReplaceChangedDeviceAndIgnoreOlderVersions() {
+        index.put(4, 2, "Pixel 10", "Google");
+        index.put(4, 1, "Pixel 9a", "Google");
+
+        assertEquals(List.of(4L), index.search("pixel 10", 10));
+        assertTrue(index.search("pixel 9", 10).isEmpty());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropDevice() {
+        index.remove(3);
+
+        assertTrue(index.search("galaxy", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void rank_ShouldPreferNameOverBrand() {
+        assertEquals(0, TrigramIndex.rank("pixel 9", "pixel 9", "google"));
+        assertEquals(1, TrigramIndex.rank("pix", "pixel 9", "google"));
+        assertEquals(2, TrigramIndex.rank("pro", "iphone 16 pro", "apple"));
+        assertEquals(3, TrigramIndex.rank("hone", "iphone 16", "apple"));
+        assertEquals(5, TrigramIndex.rank("app", "iphone 16", "apple"));
+        assertEquals(-1, TrigramIndex.rank("xyz", "iphone 16", "apple"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.deviceapi.service.impl;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DeviceTransitionResult;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.service.DeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements that bulk writes send through the service, including the outbox rows
+ * written for each device, to make sure both halves are JDBC-batched. Only statements executed on
+ * the test thread are counted, so scheduled background work does not interfere.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DeviceBulkStatementsTest {
+
+    private static final int DEVICE_COUNT = 200;
+    private static final int BATCH_SIZE = 50;
+
+    private static final Queue<String> executed = new ConcurrentLinkedQueue<>();
+    private static volatile Thread recording;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @AfterEach
+    void tearDown() {
+        recording = null;
+    }
+
+    @Test
+    void createDevices_ShouldBatchDeviceAndOutboxInserts() {
+        List<DeviceCreateDto> dtos = IntStream.range(0, DEVICE_COUNT)
+                .mapToObj(i -> new DeviceCreateDto("Batched " + i, "BatchCo"))
+                .toList();
+
+        List<String> statements = record(() -> deviceService.createDevices(dtos));
+
+        assertEquals(DEVICE_COUNT / BATCH_SIZE, count(statements, "insert into device "));
+        assertEquals(DEVICE_COUNT / BATCH_SIZE, count(statements, "insert into device_change "));
+    }
+
+    @Test
+    void transitionDevices_ShouldBatchOutboxInsertsOfAChunk() {
+        deviceService.createDevices(IntStream.range(0, DEVICE_COUNT)
+                .mapToObj(i -> new DeviceCreateDto("Transitioned " + i, "ChunkCo"))
+                .toList());
+
+        DeviceTransitionResult[] result = new DeviceTransitionResult[1];
+        List<String> statements = record(() -> result[0] = deviceService.transitionDevices(
+                DeviceFilter.builder().brand("ChunkCo").build(), DeviceState.INACTIVE));
+
+        assertEquals(DEVICE_COUNT, result[0].getUpdated());
+        assertEquals(1, count(statements, "update device "));
+        assertEquals(DEVICE_COUNT / BATCH_SIZE, count(statements, "insert into device_change "));
+    }
+
+    private static List<String> record(Runnable work) {
+        executed.clear();
+        recording = Thread.currentThread();
+        try {
+            work.run();
+        } finally {
+            recording = null;
+        }
+        return List.copyOf(executed);
+    }
+
+    private static long count(List<String> statements, String prefix) {
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith(prefix))
+                .count();
+    }
+
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                            ? new CountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records every execution of a prepared statement; a JDBC batch is executed once, however
+     * many rows it carries.
+     */
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    String sql = ((String) args[0]).strip().replaceAll("\\s+", " ");
+                    return proxy(PreparedStatement.class, statement, (statementMethod, statementArgs) -> {
+                        if (statementMethod.getName().startsWith("execute") && Thread.currentThread() == recording) {
+                            executed.add(sql);
+                        }
+                        return invoke(statement, statementMethod, statementArgs);
+                    });
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.deviceapi.service.impl;
+
+import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.service.DeviceService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "device.group-commit.enabled=true",
+        "device.group-commit.max-delay=50ms"
+})
+@ActiveProfiles("test")
+class DeviceGroupCommitTest {
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentCreates_ShouldBeCommittedTogetherWithOwnResults() throws Exception {
+        long before = deviceRepository.count();
+        List<CompletableFuture<Device>> created;
+        CompletableFuture<Device> invalid;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            created = IntStream.range(0, 20)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> deviceService.createDevice(new DeviceCreateDto("Sensor " + i, "Acme")), callers))
+                    .toList();
+            invalid = CompletableFuture.supplyAsync(
+                    () -> deviceService.createDevice(new DeviceCreateDto(" ", "Acme")), callers);
+        }
+
+        List<Long> ids = created.stream().map(CompletableFuture::join).map(Device::getId).toList();
+        assertEquals(20, ids.stream().distinct().count());
+        ExecutionException failure = assertThrows(ExecutionException.class, invalid::get);
+        assertInstanceOf(ConstraintViolationException.class, failure.getCause());
+        assertEquals(before + 20, deviceRepository.count());
+
+        DistributionSummary batches = meterRegistry.get("device.group-commit.batch.size").summary();
+        assertTrue(batches.count() < 21, "expected creates to share transactions");
+    }
+}
@@ -1,25 +1,54 @@
 package com.example.deviceapi.service.impl;
 
+import com.example.deviceapi.cache.DeviceCache;
+import com.example.deviceapi.config.DeviceProperties;
 import com.example.deviceapi.dto.DeviceCreateDto;
+import com.example.deviceapi.dto.DeviceDeletionProgress;
+import com.example.deviceapi.dto.DeviceField;
+import com.example.deviceapi.dto.DeviceFilter;
+import com.example.deviceapi.dto.DevicePage;
+import com.example.deviceapi.dto.DeviceResponse;
+import com.example.deviceapi.dto.DeviceSearchResult;
+import com.example.deviceapi.dto.DeviceSort;
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.dto.DeviceTransitionResult;
 import com.example.deviceapi.dto.DeviceUpdateDto;
 import com.example.deviceapi.entity.Device;
 import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
 import com.example.deviceapi.exception.DeviceNotFoundException;
 import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.exception.DeviceVersionConflictException;
 import com.example.deviceapi.mapper.DeviceMapper;
 import com.example.deviceapi.repository.DeviceRepository;
+import com.example.deviceapi.repository.DeviceStatusView;
+import com.example.deviceapi.readmodel.DeviceReadModel;
+import com.example.deviceapi.service.DeviceCursor;
+import com.example.deviceapi.search.DeviceSearchIndex;
+import com.example.deviceapi.stats.DeviceInventory;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +63,30 @@ class DeviceServiceTest {
     @Mock
     private DeviceMapper deviceMapper;
 
+    @Spy
+    private DeviceProperties deviceProperties = new DeviceProperties();
+
+    @Mock
+    private DeviceCache deviceCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DeviceInventory deviceInventory;
+
+    @Mock
+    private DeviceSearchIndex deviceSearchIndex;
+
+    @Mock
+    private DeviceReadModel deviceReadModel;
+
+    @Mock
+    private GroupCommitter groupCommitter;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     private Device testDevice;
 
     @BeforeEach
@@ -43,6 +96,7 @@ class DeviceServiceTest {
                 .name("iPhone 16")
                 .brand("Apple")
                 .state(DeviceState.AVAILABLE)
+                .version(0L)
                 .build();
     }
 
@@ -60,6 +114,50 @@ class DeviceServiceTest {
         verify(deviceRepository).save(any(Device.class));
     }
 
+    @Test
+    void createDevice_WithGroupCommit_ShouldInsertInSharedTransaction() {
+        DeviceCreateDto createDto = new DeviceCreateDto("iPhone 16", "Apple");
+        when(groupCommitter.isEnabled()).thenReturn(true);
+        when(groupCommitter.submit(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(deviceRepository.save(any(Device.class))).thenReturn(testDevice);
+        when(deviceMapper.createDtoToDevice(any(DeviceCreateDto.class))).thenReturn(testDevice);
+
+        Device result = deviceService.createDevice(createDto);
+
+        assertSame(testDevice, result);
+        verify(deviceRepository, never()).flush();
+        verify(transactionOperations, never()).execute(any());
+        verify(eventPublisher).publishEvent(argThat((DeviceChangedEvent event) ->
+                event.getType() == DeviceChangeType.CREATED));
+    }
+
+    @Test
+    void createDevices_ShouldSaveInConfiguredBatches() {
+        List<DeviceCreateDto> createDtos = List.of(
+                new DeviceCreateDto("iPhone 16", "Apple"),
+                new DeviceCreateDto("iPad Air", "Apple"));
+        when(deviceMapper.createDtoToDevice(any(DeviceCreateDto.class))).thenReturn(testDevice);
+        when(deviceRepository.saveAllInBatches(anyList(), anyInt())).thenAnswer(inv -> inv.getArgument(0));
+
+        int batchSize = deviceProperties.getBatch().getSize();
+
+        List<Device> result = deviceService.createDevices(createDtos);
+
+        assertEquals(2, result.size());
+        verify(deviceRepository).saveAllInBatches(anyList(), eq(batchSize));
+    }
+
+    @Test
+    void createDevices_WhenBatchTooLarge_ShouldThrowException() {
+        deviceProperties.getBatch().setMaxItems(1);
+        List<DeviceCreateDto> createDtos = List.of(
+                new DeviceCreateDto("iPhone 16", "Apple"),
+                new DeviceCreateDto("iPad Air", "Apple"));
+
+        assertThrows(DeviceValidationException.class, () -> deviceService.createDevices(createDtos));
+        verifyNoInteractions(deviceRepository);
+    }
+
     @Test
     void getDeviceById_WhenDeviceExists_ShouldReturnDevice() {
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice));
@@ -69,6 +167,62 @@ class DeviceServiceTest {
         assertEquals(testDevice, result);
     }
 
+    @Test
+    void getDeviceById_WhenCached_ShouldNotQueryRepository() {
+        when(deviceCache.get(1L)).thenReturn(Optional.of(testDevice));
+
+        Device result = deviceService.getDeviceById(1L);
+
+        assertEquals(testDevice, result);
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void getDeviceById_WhenNotCached_ShouldLoadAndCache() {
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice));
+
+        deviceService.getDeviceById(1L);
+
+        verify(deviceCache, times(1)).put(testDevice);
+    }
+
+    @Test
+    void getDeviceById_WithFields_WhenNotCached_ShouldSelectOnlyThoseColumns() {
+        Set<DeviceField> fields = DeviceField.parse("state");
+        Tuple row = tuple(Map.of("id", 1L, "version", 0L, "state", DeviceState.AVAILABLE));
+        when(deviceRepository.findProjectedById(1L, fields)).thenReturn(Optional.of(row));
+
+        DeviceResponse result = deviceService.getDeviceById(1L, fields);
+
+        assertEquals(1L, result.getId());
+        assertEquals(DeviceState.AVAILABLE, result.getState());
+        assertNull(result.getName());
+        verify(deviceRepository, never()).findById(any());
+        verify(deviceCache, never()).put(any());
+    }
+
+    @Test
+    void getDeviceById_WithFields_WhenCached_ShouldProjectCachedDevice() {
+        when(deviceCache.get(1L)).thenReturn(Optional.of(testDevice));
+
+        DeviceResponse result = deviceService.getDeviceById(1L, DeviceField.parse("name"));
+
+        assertEquals("iPhone 16", result.getName());
+        assertNull(result.getBrand());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void getDeviceVersion_ShouldPreferCacheOverVersionQuery() {
+        when(deviceCache.get(1L)).thenReturn(Optional.of(testDevice));
+        when(deviceRepository.findVersionById(2L)).thenReturn(Optional.of(9L));
+
+        assertEquals(Optional.of(0L), deviceService.getDeviceVersion(1L));
+        assertEquals(Optional.of(9L), deviceService.getDeviceVersion(2L));
+        verify(deviceRepository, never()).findVersionById(1L);
+        verify(deviceRepository, never()).findById(any());
+    }
+
     @Test
     void getDeviceById_WhenDeviceNotExists_ShouldThrowException() {
         when(deviceRepository.findById(1L)).thenReturn(Optional.empty());
@@ -77,21 +231,94 @@ class DeviceServiceTest {
     }
 
     @Test
-    void updateDevice_ShouldUpdate() {
+    void getDeviceById_WhenDeviceNotExists_ShouldRememberMiss() {
+        when(deviceCache.creationMark()).thenReturn(7L);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.empty());
+
+        DeviceNotFoundException ex = assertThrows(DeviceNotFoundException.class, () -> deviceService.getDeviceById(1L));
+
+        assertEquals("Device not found with id: 1", ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+        verify(deviceCache).putMissing(1L, 7L);
+    }
+
+    @Test
+    void getDeviceById_WhenKnownMissing_ShouldNotQueryRepository() {
+        when(deviceCache.isKnownMissing(1L)).thenReturn(true);
+
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.getDeviceById(1L, DeviceField.parse("state")));
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.getDeviceById(1L));
+
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void updateDevice_ShouldUpdateWithSingleConditionalStatement() {
         DeviceUpdateDto updateDto = new DeviceUpdateDto();
         updateDto.setName("New Name");
-        testDevice.setName(updateDto.getName());
 
-        when(deviceRepository.findById(any())).thenReturn(Optional.of(testDevice));
-        doNothing().when(deviceMapper).updateDeviceFromDTO(any(), any());
-        when(deviceRepository.save(any())).thenReturn(testDevice);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice));
+        doAnswer(inv -> {
+            inv.<Device>getArgument(1).setName("New Name");
+            return null;
+        }).when(deviceMapper).updateDeviceFromDTO(eq(updateDto), any());
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(0L), eq("New Name"), eq("Apple"),
+                eq(DeviceState.AVAILABLE), any())).thenReturn(1);
 
-        Device result = deviceService.updateDevice(1L, updateDto);
+        Device result = deviceService.updateDevice(1L, updateDto, null);
 
         assertEquals("New Name", result.getName());
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceMapper, times(1)).updateDeviceFromDTO(updateDto, testDevice);
-        verify(deviceRepository, times(1)).save(testDevice);
+        assertEquals(1L, result.getVersion());
+        assertNotNull(result.getUpdateTime());
+        verify(deviceRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(DeviceChangedEvent.class));
+    }
+
+    @Test
+    void updateDevice_WhenCached_ShouldSkipTheRead() {
+        when(deviceCache.get(1L)).thenReturn(Optional.of(testDevice));
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(0L), any(), any(), any(), any())).thenReturn(1);
+
+        Device result = deviceService.updateDevice(1L, new DeviceUpdateDto(), 0L);
+
+        assertEquals(1L, result.getVersion());
+        verify(deviceRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateDevice_WhenCachedSnapshotIsStale_ShouldRetryAgainstDatabase() {
+        Device current = testDevice.toBuilder().version(3L).build();
+        when(deviceCache.get(1L)).thenReturn(Optional.of(testDevice));
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(0L), any(), any(), any(), any())).thenReturn(0);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(deviceRepository.updateIfUnchanged(eq(1L), eq(3L), any(), any(), any(), any())).thenReturn(1);
+
+        Device result = deviceService.updateDevice(1L, new DeviceUpdateDto(), null);
+
+        assertEquals(4L, result.getVersion());
+    }
+
+    @Test
+    void updateDevice_WhenIfMatchIsStale_ShouldThrowVersionConflict() {
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice.toBuilder().version(5L).build()));
+
+        DeviceVersionConflictException ex = assertThrows(DeviceVersionConflictException.class,
+                () -> deviceService.updateDevice(1L, new DeviceUpdateDto(), 4L));
+
+        assertEquals(5L, ex.getCurrentVersion());
+        verify(deviceRepository, never()).updateIfUnchanged(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateDevice_WhenRowChangesConcurrently_ShouldExplainFailure() {
+        DeviceStatusView status = mock(DeviceStatusView.class);
+        when(status.getState()).thenReturn(DeviceState.IN_USE);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice));
+        when(deviceRepository.updateIfUnchanged(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(deviceRepository.findStatusById(1L)).thenReturn(Optional.of(status));
+
+        assertThrows(DeviceValidationException.class,
+                () -> deviceService.updateDevice(1L, new DeviceUpdateDto(), 0L));
     }
 
     @Test
@@ -103,7 +330,7 @@ class DeviceServiceTest {
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(testDevice));
 
         assertThrows(DeviceValidationException.class,
-                () -> deviceService.updateDevice(1L, updateDto));
+                () -> deviceService.updateDevice(1L, updateDto, null));
     }
 
     @Test
@@ -122,6 +349,8 @@ class DeviceServiceTest {
         deviceService.deleteDevice(1L);
         verify(deviceRepository, times(1)).findById(1L);
         verify(deviceRepository, times(1)).delete(testDevice);
+        verify(eventPublisher, times(1)).publishEvent(argThat((DeviceChangedEvent event) ->
+                event.getType() == DeviceChangeType.DELETED && event.getDeviceId().equals(1L)));
     }
 
     @Test
@@ -157,5 +386,201 @@ class DeviceServiceTest {
         verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
     }
 
+    @Test
+    void getDeviceStats_ShouldServeInMemoryCountsWithoutQuerying() {
+        DeviceStats stats = new DeviceStats(0, Map.of(), Map.of(), null);
+        when(deviceInventory.snapshot()).thenReturn(stats);
+
+        assertSame(stats, deviceService.getDeviceStats());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void searchDevices_ShouldKeepIndexRanking() {
+        Device other = testDevice.toBuilder().id(2L).name("iPhone 16e").build();
+        when(deviceSearchIndex.isReady()).thenReturn(true);
+        when(deviceSearchIndex.search("iphone", 20)).thenReturn(List.of(2L, 1L, 3L));
+        when(deviceRepository.findAllById(List.of(2L, 1L, 3L))).thenReturn(List.of(testDevice, other));
+
+        DeviceSearchResult result = deviceService.searchDevices(" iphone ", null, EnumSet.of(DeviceField.ID, DeviceField.NAME));
+
+        assertEquals("iphone", result.getQuery());
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(DeviceResponse::getId).toList());
+        assertNull(result.getItems().getFirst().getBrand());
+    }
+
+    @Test
+    void searchDevices_WhenIndexNotReady_ShouldFallBackToLikeQuery() {
+        when(deviceSearchIndex.isReady()).thenReturn(false);
+        doReturn(List.of(testDevice)).when(deviceRepository).findBy(any(Specification.class), any());
+
+        DeviceSearchResult result = deviceService.searchDevices("phone", 5, DeviceField.all());
+
+        assertEquals(1, result.getItems().size());
+        verify(deviceSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void searchDevices_WithBlankQuery_ShouldThrowException() {
+        assertThrows(DeviceValidationException.class, () -> deviceService.searchDevices("  ", null, DeviceField.all()));
+        assertThrows(DeviceValidationException.class, () -> deviceService.searchDevices(null, null, DeviceField.all()));
+        verifyNoInteractions(deviceRepository, deviceSearchIndex);
+    }
+
+    @Test
+    void getDevices_WithNonPositiveLimit_ShouldThrowException() {
+        assertThrows(DeviceValidationException.class,
+                () -> deviceService.getDevices(DeviceFilter.none(), DeviceSort.ID, null, 0, DeviceField.all()));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void getDevices_ShouldFetchOneExtraRowToDetectNextPage() {
+        Set<DeviceField> fields = DeviceField.parse("state");
+        List<Tuple> rows = List.of(
+                tuple(Map.of("id", 1L, "version", 0L, "state", DeviceState.AVAILABLE)),
+                tuple(Map.of("id", 2L, "version", 4L, "state", DeviceState.IN_USE)),
+                tuple(Map.of("id", 3L, "version", 0L, "state", DeviceState.INACTIVE)));
+        when(deviceRepository.findProjected(any(), eq(fields), eq(DeviceSort.ID), any(), eq(3))).thenReturn(rows);
+
+        DevicePage<DeviceResponse> page = deviceService.getDevices(DeviceFilter.none(), DeviceSort.ID, null, 2, fields);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(DeviceState.IN_USE, page.getItems().get(1).getState());
+        assertEquals(DeviceCursor.encode(DeviceSort.ID, 2L, null), page.getNext());
+    }
+
+    @Test
+    void getDevices_WhenReadModelReady_ShouldServePageFromMemory() {
+        DeviceFilter filter = DeviceFilter.builder().brand("apple").build();
+        Set<DeviceField> fields = DeviceField.parse("name");
+        String cursor = DeviceCursor.encode(DeviceSort.ID, 7L, null);
+        when(deviceReadModel.isReady()).thenReturn(true);
+        when(deviceReadModel.page(filter, 7L, 3, fields)).thenReturn(List.of(
+                DeviceResponse.builder().id(8L).build(),
+                DeviceResponse.builder().id(9L).build(),
+                DeviceResponse.builder().id(12L).build()));
+
+        DevicePage<DeviceResponse> page = deviceService.getDevices(filter, DeviceSort.ID, cursor, 2, fields);
+
+        assertEquals(List.of(8L, 9L), page.getItems().stream().map(DeviceResponse::getId).toList());
+        assertEquals(DeviceCursor.encode(DeviceSort.ID, 9L, null), page.getNext());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void getDevices_SortedByCreationTime_ShouldQueryEvenWhenReadModelReady() {
+        lenient().when(deviceReadModel.isReady()).thenReturn(true);
+        when(deviceRepository.findProjected(any(), any(), eq(DeviceSort.CREATION_TIME), any(), eq(11)))
+                .thenReturn(List.of());
 
-}
\ No newline at end of file
+        deviceService.getDevices(DeviceFilter.none(), DeviceSort.CREATION_TIME, null, 10, DeviceField.all());
+
+        verify(deviceReadModel, never()).page(any(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void getDevices_SortedByCreationTime_ShouldAlsoSelectCursorColumn() {
+        Set<DeviceField> fields = DeviceField.parse("name");
+        Set<DeviceField> columns = EnumSet.of(DeviceField.ID, DeviceField.VERSION, DeviceField.NAME,
+                DeviceField.CREATION_TIME);
+        when(deviceRepository.findProjected(any(), eq(columns), eq(DeviceSort.CREATION_TIME), any(), eq(11)))
+                .thenReturn(List.of());
+
+        DevicePage<DeviceResponse> page =
+                deviceService.getDevices(DeviceFilter.none(), DeviceSort.CREATION_TIME, null, 10, fields);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void getDevices_WithCursorForOtherSort_ShouldThrowException() {
+        Device last = Device.builder().id(5L).build();
+        String cursor = DeviceCursor.encode(DeviceSort.ID, last);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> deviceService.getDevices(DeviceFilter.none(), DeviceSort.CREATION_TIME, cursor, 10, DeviceField.all()));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    private static Tuple tuple(Map<String, Object> values) {
+        Tuple tuple = mock(Tuple.class);
+        lenient().when(tuple.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        lenient().when(tuple.get(anyString(), any())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return tuple;
+    }
+
+    @Test
+    void transitionDevices_ShouldClassifyChunkAndPublishUpdates() {
+        Device inUse = testDevice.toBuilder().id(2L).state(DeviceState.IN_USE).build();
+        Device inactive = testDevice.toBuilder().id(3L).state(DeviceState.INACTIVE).build();
+        DeviceFilter filter = DeviceFilter.builder().brand("Apple").build();
+        when(deviceRepository.lockChunk(any(), isNull(), anyInt())).thenReturn(List.of(testDevice, inUse, inactive));
+        when(deviceRepository.transitionState(eq(List.of(1L)), eq(DeviceState.INACTIVE), any())).thenReturn(1);
+
+        DeviceTransitionResult result = deviceService.transitionDevices(filter, DeviceState.INACTIVE);
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, result.getUnchanged());
+        verify(transactionOperations).execute(any());
+        verify(eventPublisher).publishEvent(argThat((DeviceChangedEvent event) ->
+                event.getType() == DeviceChangeType.UPDATED
+                        && event.getAfter().getState() == DeviceState.INACTIVE
+                        && event.getAfter().getVersion() == 1L));
+    }
+
+    @Test
+    void transitionDevices_ShouldContinueWithNextChunkAfterFullChunk() {
+        deviceProperties.getBulk().setChunkSize(1);
+        Device second = testDevice.toBuilder().id(2L).build();
+        when(deviceRepository.lockChunk(any(), isNull(), eq(1))).thenReturn(List.of(testDevice));
+        when(deviceRepository.lockChunk(any(), eq(1L), eq(1))).thenReturn(List.of(second));
+        when(deviceRepository.lockChunk(any(), eq(2L), eq(1))).thenReturn(List.of());
+        when(deviceRepository.transitionState(anyList(), eq(DeviceState.INACTIVE), any())).thenReturn(1);
+
+        DeviceTransitionResult result = deviceService.transitionDevices(
+                DeviceFilter.builder().brand("Apple").build(), DeviceState.INACTIVE);
+
+        assertEquals(2, result.getUpdated());
+        verify(transactionOperations, times(3)).execute(any());
+    }
+
+    @Test
+    void transitionDevices_WithoutCriteria_ShouldThrowException() {
+        assertThrows(DeviceValidationException.class,
+                () -> deviceService.transitionDevices(DeviceFilter.none(), DeviceState.INACTIVE));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void deleteDevices_ShouldDeleteChunksAndReportProgress() {
+        deviceProperties.getBulk().setChunkSize(2);
+        Device inUse = testDevice.toBuilder().id(2L).state(DeviceState.IN_USE).build();
+        Device inactive = testDevice.toBuilder().id(3L).state(DeviceState.INACTIVE).build();
+        when(deviceRepository.lockChunk(any(), isNull(), eq(2))).thenReturn(List.of(testDevice, inUse));
+        when(deviceRepository.lockChunk(any(), eq(2L), eq(2))).thenReturn(List.of(inactive));
+        when(deviceRepository.deleteNotInUse(anyList())).thenReturn(1);
+        List<DeviceDeletionProgress> reports = new ArrayList<>();
+
+        DeviceDeletionProgress result = deviceService.deleteDevices(DeviceFilter.builder().brand("Apple").build(), reports::add);
+
+        assertEquals(2, result.getChunks());
+        assertEquals(2, result.getDeleted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.isDone());
+        assertEquals(List.of(1, 2), reports.stream().map(DeviceDeletionProgress::getDeleted).toList());
+        verify(deviceRepository).deleteNotInUse(List.of(1L));
+        verify(deviceRepository).deleteNotInUse(List.of(3L));
+        verify(eventPublisher, times(2)).publishEvent(argThat((DeviceChangedEvent event) ->
+                event.getType() == DeviceChangeType.DELETED));
+    }
+
+    @Test
+    void deleteDevices_WithoutCriteria_ShouldThrowException() {
+        assertThrows(DeviceValidationException.class, () -> deviceService.deleteDevices(DeviceFilter.none(), progress -> {
+        }));
+        verifyNoInteractions(deviceRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.deviceapi.service.impl;
+
+import com.example.deviceapi.config.DeviceProperties;
+import com.example.deviceapi.exception.DeviceValidationException;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GroupCommitterTest {
+
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final TransactionOperations transactionOperations = new TransactionOperations() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            transactions.incrementAndGet();
+            return action.doInTransaction(null);
+        }
+    };
+    private final DeviceRepository deviceRepository = mock(DeviceRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private GroupCommitter groupCommitter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        groupCommitter.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentWrites_ShouldShareOneTransaction() throws Exception {
+        groupCommitter = groupCommitter(true, 3);
+
+        List<CompletableFuture<Object>> results = submitConcurrently(() -> 1, () -> 2, () -> 3);
+
+        assertEquals(List.of(1, 2, 3), List.of(results.get(0).get(), results.get(1).get(), results.get(2).get()));
+        assertEquals(1, transactions.get());
+        verify(deviceRepository).flush();
+        assertEquals(3, registry.get("device.group-commit.batch.size").summary().max());
+    }
+
+    @Test
+    void failingWrite_ShouldOnlyFailItsOwnCaller() throws Exception {
+        groupCommitter = groupCommitter(true, 3);
+
+        List<CompletableFuture<Object>> results = submitConcurrently(() -> 1, () -> {
+            throw new DeviceValidationException("invalid");
+        }, () -> 3);
+
+        assertEquals(1, results.get(0).get());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get());
+        assertInstanceOf(DeviceValidationException.class, failure.getCause());
+        assertEquals(3, results.get(2).get());
+        // The shared attempt, then one transaction per write
+        assertEquals(4, transactions.get());
+    }
+
+    @Test
+    void writesSubmittedWhileStopping_ShouldAllComplete() throws Exception {
+        groupCommitter = groupCommitter(true, 3);
+        List<CompletableFuture<Integer>> results = IntStream.range(0, 200)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> groupCommitter.submit(() -> i), callers))
+                .toList();
+
+        groupCommitter.stop();
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(199, results.getLast().get());
+    }
+
+    @Test
+    void interruptedFlusher_ShouldRunQueuedWritesAloneAndExit() throws Exception {
+        groupCommitter = groupCommitter(true, 1);
+        CountDownLatch queued = new CountDownLatch(1);
+
+        CompletableFuture<Object> interrupting = submitConcurrently(() -> {
+            try {
+                queued.await();
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            // Runs on the flusher thread, whose next poll then fails
+            Thread.currentThread().interrupt();
+            return 1;
+        }).getFirst();
+        Thread.sleep(50);
+        CompletableFuture<Object> waiting = submitConcurrently(() -> 2).getFirst();
+        queued.countDown();
+
+        assertEquals(1, interrupting.get(5, TimeUnit.SECONDS));
+        assertEquals(2, waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(3, groupCommitter.submit(() -> 3));
+    }
+
+    @Test
+    void disabled_ShouldReportItself() {
+        groupCommitter = groupCommitter(false, 3);
+
+        assertFalse(groupCommitter.isEnabled());
+    }
+
+    private GroupCommitter groupCommitter(boolean enabled, int maxSize) {
+        DeviceProperties properties = new DeviceProperties();
+        properties.getGroupCommit().setEnabled(enabled);
+        properties.getGroupCommit().setMaxSize(maxSize);
+        // Long enough for all concurrent writes to join one batch
+        properties.getGroupCommit().setMaxDelay(Duration.ofSeconds(5));
+        return new GroupCommitter(properties, deviceRepository, transactionOperations, registry);
+    }
+
+    @SafeVarargs
+    private List<CompletableFuture<Object>> submitConcurrently(Supplier<Object>... writes) {
+        return Arrays.stream(writes)
+                .map(write -> CompletableFuture.supplyAsync(() -> groupCommitter.submit(write), callers))
+                .toList();
+    }
+}
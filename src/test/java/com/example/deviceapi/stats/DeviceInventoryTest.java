@@ -0,0 +1,111 @@
+package com.example.deviceapi.stats;
+
+import com.example.deviceapi.dto.DeviceStats;
+import com.example.deviceapi.entity.Device;
+import com.example.deviceapi.entity.DeviceState;
+import com.example.deviceapi.event.DeviceChangeType;
+import com.example.deviceapi.event.DeviceChangedEvent;
+import com.example.deviceapi.repository.DeviceCountView;
+import com.example.deviceapi.repository.DeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeviceInventoryTest {
+
+    private DeviceRepository deviceRepository;
+    private MeterRegistry meterRegistry;
+    private DeviceInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        deviceRepository = mock(DeviceRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        inventory = new DeviceInventory(deviceRepository, meterRegistry);
+    }
+
+    @Test
+    void onDeviceChanged_ShouldCountCreatesUpdatesAndDeletes() {
+        Device available = device("Apple", DeviceState.AVAILABLE);
+        Device inUse = device("Apple", DeviceState.IN_USE);
+
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, available));
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device("Samsung", DeviceState.AVAILABLE)));
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, available, inUse));
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.DELETED, device("Samsung", DeviceState.AVAILABLE), null));
+
+        DeviceStats stats = inventory.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertEquals(0L, stats.getByState().get(DeviceState.AVAILABLE));
+        assertEquals(1L, stats.getByState().get(DeviceState.IN_USE));
+        assertEquals(1L, stats.getByBrand().get("Apple").get(DeviceState.IN_USE));
+        assertFalse(stats.getByBrand().containsKey("Samsung"));
+    }
+
+    @Test
+    void onDeviceChanged_WhenBrandAndStateUnchanged_ShouldKeepCounts() {
+        Device before = device("Apple", DeviceState.AVAILABLE);
+        Device renamed = device("Apple", DeviceState.AVAILABLE);
+        renamed.setName("Renamed");
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, before));
+
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.UPDATED, before, renamed));
+
+        assertEquals(1L, inventory.snapshot().getByState().get(DeviceState.AVAILABLE));
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftFromDatabaseCounts() {
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device("Apple", DeviceState.AVAILABLE)));
+        inventory.onDeviceChanged(new DeviceChangedEvent(DeviceChangeType.CREATED, null, device("Nokia", DeviceState.INACTIVE)));
+        when(deviceRepository.countByBrandAndState()).thenReturn(List.of(
+                count("Apple", DeviceState.AVAILABLE, 3),
+                count("Samsung", DeviceState.IN_USE, 2)));
+
+        inventory.reconcile();
+
+        DeviceStats stats = inventory.snapshot();
+        assertEquals(5, stats.getTotal());
+        assertEquals(3L, stats.getByBrand().get("Apple").get(DeviceState.AVAILABLE));
+        assertEquals(2L, stats.getByBrand().get("Samsung").get(DeviceState.IN_USE));
+        assertFalse(stats.getByBrand().containsKey("Nokia"));
+        assertNotNull(stats.getReconciledAt());
+        assertEquals(5.0, meterRegistry.get("device.stats.drift").counter().count());
+    }
+
+    private static Device device(String brand, DeviceState state) {
+        return Device.builder()
+                .id(1L)
+                .name("Device")
+                .brand(brand)
+                .state(state)
+                .version(0L)
+                .build();
+    }
+
+    private static DeviceCountView count(String brand, DeviceState state, long count) {
+        return new DeviceCountView() {
+            @Override
+            public String getBrand() {
+                return brand;
+            }
+
+            @Override
+            public DeviceState getState() {
+                return state;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,2 @@
+-- The migrations insert the feed head row; schemas generated by Hibernate get it here
+insert into device_change_head (id, last_position) values (1, 0);